@@ -1,10 +1,24 @@
 package com.daansander.gamecore;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
 
 import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitRunnable;
 
@@ -12,6 +26,11 @@ import com.daansander.gamecore.events.game.GameStartEvent;
 import com.daansander.gamecore.events.game.GameStopEvent;
 import com.daansander.gamecore.events.player.PlayerJoinGameEvent;
 import com.daansander.gamecore.events.player.PlayerLeaveGameEvent;
+import com.daansander.gamecore.listeners.GameEventHandler;
+import com.daansander.gamecore.recorder.RecordType;
+import com.daansander.gamecore.recorder.SessionRecorder;
+import com.daansander.gamecore.sidebar.SidebarFrame;
+import com.daansander.gamecore.util.TimerWheel;
 
 /**
  * A superclass that is meant for easy creation of games
@@ -23,14 +42,35 @@ public abstract class Game {
 
     public final int ID;
     public final String TAG;
+    public final String TYPE;
     public final int MIN_PLAYES, MAX_PLAYERS;
     public final long GAME_DURATION;
     public final Plugin PLUGIN;
     private GameState gameState = GameState.WAITING;
     private int currentLobbyTime = 0;
+    private SessionRecorder recorder;
 
     private List<Player> players = new ArrayList<>();
+    private List<Player> winners = new ArrayList<>();
+    private GameTeams teams;
+    private SkillScore skillScore = SkillScore.EQUAL;
+    private final Set<CompletableFuture<?>> pendingTasks =
+            Collections.newSetFromMap(new ConcurrentHashMap<CompletableFuture<?>, Boolean>());
+    private Map<Class<? extends Event>, List<GameEventHandler<?>>> eventHandlers = new HashMap<>();
     private static List<Game> games = new ArrayList<>();
+    private static Map<UUID, Game> playerGames = new ConcurrentHashMap<>();
+
+    private int rejoinGracePeriod = defaultGracePeriod;
+    private Map<UUID, Reservation> reservations = new ConcurrentHashMap<>();
+    private static int defaultGracePeriod = 60;
+    private static Map<UUID, Reservation> reservedPlayers = new ConcurrentHashMap<>();
+    private static final TimerWheel<Reservation> reservationWheel = new TimerWheel<>(64,
+            new TimerWheel.Expiry<Reservation>() {
+                @Override
+                public void onExpire(Reservation reservation) {
+                    reservation.game.expireReservation(reservation);
+                }
+            });
 
     /**
      * Constructor for an {@link Game} object that eases the creation of games
@@ -45,6 +85,7 @@ public abstract class Game {
         this.PLUGIN = plugin;
         this.ID = games.size();
         this.TAG = tag + "-" + ID;
+        this.TYPE = tag;
         this.GAME_DURATION = game_duration;
         this.MIN_PLAYES = min_players;
         this.MAX_PLAYERS = max_players;
@@ -137,13 +178,7 @@ public abstract class Game {
      * @return the {@link Game} object that the {@link Player} currently is in will be null if the {@link Player} isn't in a {@link Game}
      */
     public static Game getGameFromPlayer(Player player) {
-    	for(int i = 0; i < games.size(); i++) {
-    		Game game = games.get(i);
-    		
-    		if(game.players.contains(player))
-    			return game;
-    	}
-    	return null;
+    	return playerGames.get(player.getUniqueId());
     }
 
     /**
@@ -158,6 +193,7 @@ public abstract class Game {
                 if (gameState != GameState.WAITING) return;
                 if (players.size() >= MIN_PLAYES) {
                     currentLobbyTime--;
+                    record(RecordType.TIMER, currentLobbyTime, null);
                     Bukkit.broadcastMessage(currentLobbyTime + "");
                     if (currentLobbyTime <= 0) {
                         onStart();
@@ -177,10 +213,18 @@ public abstract class Game {
      */
     private final void startGameTimer(long duration) {
         final BukkitRunnable updateRunnable = new BukkitRunnable() {
+
+            long timeLeft = GAME_DURATION;
+
             @Override
             public void run() {
                 if (gameState != GameState.INGAME) return;
+                record(RecordType.TIMER, (int) timeLeft--, null);
+
+                long start = System.nanoTime();
                 onUpdate();
+                record(RecordType.UPDATE_COST, (int) Math.min(Integer.MAX_VALUE, System.nanoTime() - start), null);
+                SidebarService.update(Game.this);
             }
         };
 
@@ -198,10 +242,10 @@ public abstract class Game {
     /**
      * Checks whether the {@link Game} is full
      *
-     * @return if the amount of {@link Player}'s is more or equal to the max players
+     * @return if the amount of {@link Player}'s and reserved slots is more or equal to the max players
      */
     public boolean isFull() {
-        return players.size() >= MAX_PLAYERS;
+        return players.size() + reservations.size() >= MAX_PLAYERS;
     }
 
     /**
@@ -211,6 +255,8 @@ public abstract class Game {
      */
     public void onJoin(final Player player) {
         players.add(player);
+        playerGames.put(player.getUniqueId(), this);
+        record(RecordType.JOIN, players.size(), player);
         Bukkit.getPluginManager().callEvent(new PlayerJoinGameEvent(this, player));
     }
 
@@ -221,17 +267,161 @@ public abstract class Game {
      */
     public void onLeave(final Player player) {
         players.remove(player);
+        playerGames.remove(player.getUniqueId(), this);
+        record(RecordType.LEAVE, players.size(), player);
+        if (teams != null)
+            teams.remove(player);
         Bukkit.getPluginManager().callEvent(new PlayerLeaveGameEvent(this, player));
     }
 
+    /**
+     * Event that is called when a {@link Player} object in the current {@link Game} object disconnects. While the
+     * {@link Game} is running the slot is reserved for the rejoin grace period, otherwise the {@link Player} leaves
+     *
+     * @param player
+     */
+    public void onDisconnect(final Player player) {
+        int team = (teams == null) ? -1 : teams.getTeam(player);
+        onLeave(player);
+
+        if (gameState != GameState.INGAME || rejoinGracePeriod <= 0) return;
+
+        Reservation reservation = new Reservation(this, player.getUniqueId(), team);
+        reservation.timeout = reservationWheel.schedule(reservation, rejoinGracePeriod);
+        reservations.put(reservation.player, reservation);
+        reservedPlayers.put(reservation.player, reservation);
+    }
+
+    /**
+     * Event that is called when a {@link Player} object reconnects within the rejoin grace period, the
+     * {@link Player} goes back into the reserved slot and team. When that team has filled up in the meantime the
+     * {@link Player} joins the team with the lowest total {@link SkillScore} that has room
+     *
+     * @param player
+     */
+    public void onRejoin(final Player player) {
+        Reservation reservation = reservations.remove(player.getUniqueId());
+        if (reservation == null) return;
+
+        reservation.timeout.cancel();
+        reservedPlayers.remove(reservation.player, reservation);
+
+        onJoin(player);
+        if (teams == null || reservation.team < 0) return;
+
+        // the slot in the team was freed when the player left, another player may have taken it since
+        if (teams.join(player, reservation.team, skillScore.getScore(player)) < 0)
+            onTeamOverflow(player);
+    }
+
+    /**
+     * Event that is called when a reserved slot expires because the {@link Player} didn't reconnect in time
+     *
+     * @param player the {@link UUID} of the {@link Player} the slot was reserved for
+     */
+    protected void onReservationExpired(UUID player) {
+
+    }
+
+    private void expireReservation(Reservation reservation) {
+        if (!reservations.remove(reservation.player, reservation)) return;
+
+        reservedPlayers.remove(reservation.player, reservation);
+        onReservationExpired(reservation.player);
+    }
+
+    private void clearReservations() {
+        List<Reservation> cleared = new ArrayList<>(reservations.values());
+        reservations.clear();
+
+        for (int i = 0; i < cleared.size(); i++) {
+            Reservation reservation = cleared.get(i);
+            reservation.timeout.cancel();
+            reservedPlayers.remove(reservation.player, reservation);
+        }
+    }
+
     /**
      * Event that is called when the {@link Game} timer has started
      */
     protected void onStart() {
 		gameState = GameState.INGAME;
+		record(RecordType.STATE, gameState.ordinal(), null);
+		if (teams != null) {
+			List<Player> overflow = teams.allocate(players, skillScore);
+			for (int i = 0; i < overflow.size(); i++)
+				onTeamOverflow(overflow.get(i));
+		}
     	startGameTimer(GAME_DURATION);
     	Bukkit.getPluginManager().callEvent(new GameStartEvent(this));
-    	
+    	track(onStartAsync());
+    }
+
+    /**
+     * Event that is called when a {@link Player} object didn't fit in any team, by default the {@link Player} leaves
+     * the {@link Game}
+     *
+     * @param player
+     */
+    protected void onTeamOverflow(final Player player) {
+        player.sendMessage(ChatColor.RED + "There was no room for you in any team of " + TAG);
+        onLeave(player);
+    }
+
+    /**
+     * Event that is called when the {@link Game} has started, meant for blocking work like loading kits. Use
+     * {@link Game#runAsync(Callable)} to run the work, it will be cancelled when the {@link Game} stops
+     *
+     * @return a {@link CompletableFuture} that completes when the work is done
+     */
+    protected CompletableFuture<?> onStartAsync() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Event that is called when the {@link Game} has stopped, meant for blocking work like saving results. The work
+     * is cancelled when the {@link Game} stops the next time
+     *
+     * @return a {@link CompletableFuture} that completes when the work is done
+     */
+    protected CompletableFuture<?> onStopAsync() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Runs blocking work on the {@link GameExecutor}, the result is handed back on the main thread. The work is
+     * cancelled when the {@link Game} stops
+     *
+     * @param task the blocking work to run
+     * @param <T>  the type of the result
+     * @return a {@link CompletableFuture} that completes on the main thread with the result of the task
+     */
+    protected <T> CompletableFuture<T> runAsync(Callable<T> task) {
+        return track(GameExecutor.submit(PLUGIN, task));
+    }
+
+    /**
+     * Cancels all the work that has been started with {@link Game#runAsync(Callable)} and isn't finished yet
+     */
+    public void cancelPendingTasks() {
+        List<CompletableFuture<?>> tasks = new ArrayList<>(pendingTasks);
+        pendingTasks.clear();
+
+        for (int i = 0; i < tasks.size(); i++)
+            tasks.get(i).cancel(true);
+    }
+
+    private <T> CompletableFuture<T> track(final CompletableFuture<T> future) {
+        if (future == null || future.isDone()) return future;
+
+        pendingTasks.add(future);
+        future.whenComplete(new BiConsumer<T, Throwable>() {
+            @Override
+            public void accept(T value, Throwable throwable) {
+                pendingTasks.remove(future);
+            }
+        });
+        return future;
     }
     
     /**
@@ -239,6 +429,7 @@ public abstract class Game {
      */
     protected void onCountdownStart() {
     	gameState = GameState.STARTING;
+    	record(RecordType.STATE, gameState.ordinal(), null);
     	
     	new BukkitRunnable() {
     		
@@ -247,6 +438,7 @@ public abstract class Game {
 			@Override
 			public void run() {
 				currentTimer--;
+				record(RecordType.TIMER, currentTimer, null);
 				
 				onCountdown(currentTimer);
 				
@@ -274,14 +466,64 @@ public abstract class Game {
 
     }
 
+    /**
+     * Event that is called once per update to build the sidebar that is shared by all the {@link Player}'s, only
+     * called when the sidebar has been enabled
+     *
+     * @param frame the empty {@link SidebarFrame} to fill
+     * @see Game#enableSidebar()
+     */
+    protected void onSidebar(SidebarFrame frame) {
+
+    }
+
+    /**
+     * Event that is called once per update for every {@link Player} to override lines of the shared sidebar, the
+     * lines that aren't set in the frame are taken from the shared sidebar
+     *
+     * @param player the {@link Player} the sidebar is drawn for
+     * @param frame  the empty {@link SidebarFrame} to set the lines that differ for the {@link Player} in
+     */
+    protected void onSidebar(Player player, SidebarFrame frame) {
+
+    }
+
+    /**
+     * Lets GameCore draw the sidebar of the {@link Game}, it will be updated every second while the {@link Game} is
+     * running
+     */
+    protected void enableSidebar() {
+        SidebarService.register(this);
+    }
+
     /**
      * Event that is called when the {@link Game} timer runs out or when the {@link Game} is forced to stop
      */
     protected void onStop() {
         gameState = GameState.WAITING;
+        record(RecordType.STATE, gameState.ordinal(), null);
         startLobbyTimer(15);
+        GameStopEvent event = new GameStopEvent(this, new ArrayList<>(players), new ArrayList<>(winners));
+        for (int i = 0; i < players.size(); i++)
+            playerGames.remove(players.get(i).getUniqueId(), this);
         players.clear();
-        Bukkit.getPluginManager().callEvent(new GameStopEvent(this));
+        winners.clear();
+        clearReservations();
+        if (teams != null)
+            teams.clear();
+        cancelPendingTasks();
+        Bukkit.getPluginManager().callEvent(event);
+        track(onStopAsync());
+    }
+
+    /**
+     * Marks a {@link Player} as a winner of the current round, the winners are passed on with the {@link GameStopEvent}
+     *
+     * @param player the {@link Player} that won the {@link Game}
+     */
+    protected void addWinner(Player player) {
+        if (!winners.contains(player))
+            winners.add(player);
     }
 
     /**
@@ -293,6 +535,158 @@ public abstract class Game {
         return players;
     }
 
+    /**
+     * Registers a handler for a Bukkit {@link Event} that is only called for the {@link Player}'s in this
+     * {@link Game}. The events are routed by GameCore so the handler doesn't have to look up the {@link Game} itself.
+     * Events about a projectile go to the {@link Game} of the {@link Player} that shot it. Damage done by an entity
+     * goes to the {@link Game} of the victim, or to the {@link Game} of the attacking {@link Player} when the victim
+     * isn't in one, the handler then gets the attacker as {@link Player}
+     *
+     * @param type    the type of the event, it has to involve a {@link Player}
+     * @param handler the handler to call
+     * @param <E>     the type of the event
+     */
+    protected <E extends Event> void listen(Class<E> type, GameEventHandler<E> handler) {
+        GameEventRouter.register(type);
+
+        List<GameEventHandler<?>> handlers = eventHandlers.get(type);
+        if (handlers == null) {
+            handlers = new ArrayList<>();
+            eventHandlers.put(type, handlers);
+        }
+        handlers.add(handler);
+    }
+
+    /**
+     * Calls the handlers that have been registered for an event type, called by the {@link GameEventRouter}
+     *
+     * @param type   the type the handlers have been registered for
+     * @param event  the event that has been called
+     * @param player the {@link Player} in this {@link Game} that is involved with the event
+     */
+    @SuppressWarnings("unchecked")
+    void dispatchEvent(Class<? extends Event> type, Event event, Player player) {
+        List<GameEventHandler<?>> handlers = eventHandlers.get(type);
+        if (handlers == null) return;
+
+        for (int i = 0; i < handlers.size(); i++)
+            ((GameEventHandler<Event>) handlers.get(i)).onEvent(event, player);
+    }
+
+    /**
+     * Gives the {@link Game} teams, the {@link Player}'s are divided over the teams when the {@link Game} starts
+     *
+     * @param team_count how many teams the {@link Game} has
+     * @param team_size  the maximum amount of {@link Player}'s in a team
+     * @throws IllegalArgumentException if the teams don't have room for {@link Game#MAX_PLAYERS} {@link Player}'s
+     */
+    protected void setTeams(int team_count, int team_size) {
+        if ((long) team_count * team_size < MAX_PLAYERS)
+            throw new IllegalArgumentException(team_count + " teams of " + team_size + " don't have room for "
+                    + MAX_PLAYERS + " players");
+
+        this.teams = new GameTeams(team_count, team_size);
+    }
+
+    /**
+     * Sets the {@link SkillScore} that is used to balance the teams
+     *
+     * @param skillScore the {@link SkillScore} to balance the teams with
+     */
+    protected void setSkillScore(SkillScore skillScore) {
+        this.skillScore = skillScore;
+    }
+
+    /**
+     * Getter for the {@link Game#teams} object
+     *
+     * @return the {@link GameTeams} of the {@link Game}, null if the {@link Game} doesn't have teams
+     */
+    public GameTeams getTeams() {
+        return teams;
+    }
+
+    /**
+     * Getter for the {@link Game#winners} object
+     *
+     * @return all the {@link Player}'s that have been marked as winner of the current round
+     */
+    public List<Player> getWinners() {
+        return winners;
+    }
+
+    /**
+     * Starts recording the joins, leaves, state changes, timers and onUpdate cost of the {@link Game} to a session
+     * log in the data folder of the plugin
+     *
+     * @see com.daansander.gamecore.recorder.SessionReader
+     */
+    protected void enableRecording() {
+        if (recorder != null) return;
+
+        try {
+            recorder = new SessionRecorder(new File(PLUGIN.getDataFolder(), "sessions"), TAG, PLUGIN.getLogger());
+        } catch (IOException e) {
+            PLUGIN.getLogger().log(Level.WARNING, "Couldn't start recording " + TAG, e);
+        }
+    }
+
+    /**
+     * Getter for the {@link Game#recorder} object
+     *
+     * @return the {@link SessionRecorder} of the {@link Game}, null if recording isn't enabled
+     */
+    public SessionRecorder getRecorder() {
+        return recorder;
+    }
+
+    private void record(RecordType type, int value, Player player) {
+        if (recorder == null) return;
+
+        if (player == null)
+            recorder.record(type, value);
+        else
+            recorder.record(type, value, player.getUniqueId());
+    }
+
+    /**
+     * Sets how many seconds the slot of a disconnected {@link Player} stays reserved, 0 disables reservations
+     *
+     * @param seconds how many seconds a disconnected {@link Player} has to reconnect
+     */
+    protected void setRejoinGracePeriod(int seconds) {
+        this.rejoinGracePeriod = seconds;
+    }
+
+    /**
+     * Gets the {@link Game} that has a slot reserved for a {@link Player}
+     *
+     * @param player the {@link UUID} of the {@link Player}
+     * @return the {@link Game} with the reserved slot, null if no slot is reserved
+     */
+    public static Game getReservedGame(UUID player) {
+        Reservation reservation = reservedPlayers.get(player);
+        return (reservation == null) ? null : reservation.game;
+    }
+
+    /**
+     * Sets the rejoin grace period that new {@link Game}'s start with
+     *
+     * @param seconds how many seconds a disconnected {@link Player} has to reconnect
+     */
+    public static void setDefaultGracePeriod(int seconds) {
+        defaultGracePeriod = seconds;
+    }
+
+    /**
+     * Getter for the {@link Game#reservationWheel} object, it has to be ticked once per second
+     *
+     * @return the {@link TimerWheel} that expires the reserved slots
+     */
+    public static Runnable getReservationWheel() {
+        return reservationWheel;
+    }
+
     /**
      * Getter for the {@link Game#games} object
      *
@@ -324,4 +718,21 @@ public abstract class Game {
     public enum GameState {
         INGAME, WAITING, STARTING
     }
+
+    /**
+     * A slot that is kept for a disconnected {@link Player}
+     */
+    private static final class Reservation {
+
+        final Game game;
+        final UUID player;
+        final int team;
+        TimerWheel.Timeout<Reservation> timeout;
+
+        Reservation(Game game, UUID player, int team) {
+            this.game = game;
+            this.player = player;
+            this.team = team;
+        }
+    }
 }
\ No newline at end of file
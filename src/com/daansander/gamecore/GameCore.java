@@ -1,28 +1,82 @@
 package com.daansander.gamecore;
 
 import com.daansander.gamecore.listeners.PlayerListener;
+import com.daansander.gamecore.listeners.StatsListener;
+import com.daansander.gamecore.recorder.SessionRecorder;
+import com.daansander.gamecore.stats.PlayerStats;
+import com.daansander.gamecore.stats.StatsStore;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.File;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+
 /**
  * @author Daan Meijer
  * @version 1.1
  */
 public class GameCore extends JavaPlugin {
 
+    private static StatsStore statsStore;
+
     public void onEnable() {
+        getConfig().addDefault("rejoin-grace-period", 60);
+        getConfig().options().copyDefaults(true);
+        saveConfig();
+        Game.setDefaultGracePeriod(getConfig().getInt("rejoin-grace-period"));
+
         GameSign.loadSigns(this, Bukkit.getWorlds().get(0));
         GameSign.startUpdater(this);
+        GameExecutor.start();
+        Bukkit.getScheduler().runTaskTimer(this, Game.getReservationWheel(), 20, 20);
+
+        statsStore = new StatsStore(this, new File(getDataFolder(), "stats"), 1024);
+        statsStore.start();
+        for (Player player : Bukkit.getOnlinePlayers())
+            statsStore.setName(player.getUniqueId(), player.getName());
+        statsStore.addObserver(Leaderboard.getObserver());
+        statsStore.loadAll();
+        Leaderboard.loadSigns(Bukkit.getWorlds().get(0));
 
         Bukkit.getPluginManager().registerEvents(new PlayerListener(this), this);
+        Bukkit.getPluginManager().registerEvents(new StatsListener(statsStore), this);
+        GameEventRouter.start(this);
+        SidebarService.start(this);
     }
 
     public void onDisable() {
         GameSign.saveSigns(this, Bukkit.getWorlds().get(0));
+        Leaderboard.saveSigns(this, Bukkit.getWorlds().get(0));
+        statsStore.close();
+        GameExecutor.shutdown();
+        SessionRecorder.closeAll();
+    }
+
+    private static void sendRank(CommandSender sender, Leaderboard leaderboard, OfflinePlayer player) {
+        int rank = leaderboard.getRank(player.getUniqueId());
+        String name = Leaderboard.getName(player.getUniqueId());
+
+        if (rank == -1)
+            sender.sendMessage(ChatColor.RED + name + " isn't ranked yet");
+        else
+            sender.sendMessage(ChatColor.GREEN + name + " is #" + rank + " with "
+                    + leaderboard.format(leaderboard.getValue(player.getUniqueId())));
+    }
+
+    /**
+     * Getter for the {@link GameCore#statsStore} object
+     *
+     * @return the {@link StatsStore} that holds the results of all the players
+     */
+    public static StatsStore getStatsStore() {
+        return statsStore;
     }
 
     @Override
@@ -40,10 +94,75 @@ public class GameCore extends JavaPlugin {
                 return true;
             }
 
+            if (game.isFull()) {
+                sender.sendMessage(ChatColor.RED + "The game " + game.TAG + " is full");
+                return true;
+            }
+
             Player player = (Player) sender;
 
             game.onJoin(player);
             player.sendMessage(ChatColor.GREEN + "Successfully joined the game " + game.TAG + "!");
+        } else if (command.getName().equalsIgnoreCase("leaderboard")) {
+            if (args.length < 2) {
+                sender.sendMessage(ChatColor.RED + "Insufficient arguments usage: leaderboard <game> <stat> [player]");
+                return true;
+            }
+
+            PlayerStats.Stat stat = PlayerStats.Stat.fromName(args[1]);
+
+            if (stat == null) {
+                sender.sendMessage(ChatColor.RED + "Couldn't find stat " + args[1]);
+                return true;
+            }
+
+            final Leaderboard leaderboard = Leaderboard.findLeaderboard(args[0], stat);
+
+            if (leaderboard == null) {
+                if (Game.getGamesFor(args[0]).isEmpty())
+                    sender.sendMessage(ChatColor.RED + "Couldn't find game " + args[0]);
+                else
+                    sender.sendMessage(ChatColor.RED + "Nobody has been ranked for " + args[0] + " yet");
+                return true;
+            }
+
+            sender.sendMessage(ChatColor.GOLD + "Top " + leaderboard.TYPE + " " + stat.name().toLowerCase() + ":");
+
+            for (int rank = 1; rank <= Leaderboard.DEFAULT_SIZE && rank <= leaderboard.size(); rank++) {
+                UUID player = leaderboard.getPlayer(rank);
+                sender.sendMessage(ChatColor.YELLOW + "#" + rank + " " + Leaderboard.getName(player) + ": "
+                        + leaderboard.format(leaderboard.getValue(player)));
+            }
+
+            if (args.length < 3) {
+                if (sender instanceof Player)
+                    sendRank(sender, leaderboard, (Player) sender);
+                return true;
+            }
+
+            Player online = Bukkit.getPlayerExact(args[2]);
+            if (online != null) {
+                sendRank(sender, leaderboard, online);
+                return true;
+            }
+
+            // looking up the name of an offline player can block on a web request
+            final String name = args[2];
+            final CommandSender target = sender;
+            GameExecutor.submit(this, new Callable<OfflinePlayer>() {
+                @Override
+                public OfflinePlayer call() {
+                    return Bukkit.getOfflinePlayer(name);
+                }
+            }).whenComplete(new BiConsumer<OfflinePlayer, Throwable>() {
+                @Override
+                public void accept(OfflinePlayer player, Throwable throwable) {
+                    if (player == null)
+                        target.sendMessage(ChatColor.RED + "Couldn't find player " + name);
+                    else
+                        sendRank(target, leaderboard, player);
+                }
+            });
         }
         return true;
     }
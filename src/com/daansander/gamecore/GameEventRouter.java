@@ -0,0 +1,123 @@
+package com.daansander.gamecore;
+
+import com.daansander.gamecore.listeners.GameEventHandler;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityEvent;
+import org.bukkit.event.inventory.InventoryInteractEvent;
+import org.bukkit.event.player.PlayerEvent;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The single listener that hands Bukkit {@link Event}'s to the {@link GameEventHandler}'s of the {@link Game} the
+ * involved {@link Player} is in. Every event type is registered once no matter how many {@link Game}'s listen to it,
+ * events of {@link Player}'s that aren't in a {@link Game} are dropped after one indexed lookup
+ *
+ * @since 1.1
+ */
+public final class GameEventRouter implements Listener {
+
+    private static final GameEventRouter router = new GameEventRouter();
+    private static final Set<Class<? extends Event>> registered = new HashSet<>();
+    private static Plugin plugin;
+
+    private GameEventRouter() {
+    }
+
+    /**
+     * Starts routing events, the event types that were requested before GameCore got enabled are registered now
+     *
+     * @param plugin the {@link Plugin} that owns the listener
+     */
+    public static synchronized void start(Plugin plugin) {
+        GameEventRouter.plugin = plugin;
+
+        for (Class<? extends Event> type : registered)
+            registerExecutor(type);
+    }
+
+    /**
+     * Makes sure events of a type are routed to the {@link Game}'s
+     *
+     * @param type the type of the event
+     * @throws IllegalArgumentException if the event doesn't involve a {@link Player}
+     */
+    static synchronized void register(Class<? extends Event> type) {
+        if (!isSupported(type))
+            throw new IllegalArgumentException(type.getSimpleName() + " doesn't involve a player");
+        if (!registered.add(type) || plugin == null) return;
+
+        registerExecutor(type);
+    }
+
+    /**
+     * Gets the {@link Player} that is involved with an event. For events about a {@link Projectile} this is the
+     * {@link Player} that shot it
+     *
+     * @param event the event to get the {@link Player} from
+     * @return the involved {@link Player}, null if the event doesn't involve a {@link Player}
+     */
+    public static Player getPlayer(Event event) {
+        if (event instanceof PlayerEvent)
+            return ((PlayerEvent) event).getPlayer();
+        if (event instanceof BlockBreakEvent)
+            return ((BlockBreakEvent) event).getPlayer();
+        if (event instanceof BlockPlaceEvent)
+            return ((BlockPlaceEvent) event).getPlayer();
+
+        if (event instanceof EntityEvent)
+            return getPlayer(((EntityEvent) event).getEntity());
+        if (event instanceof InventoryInteractEvent)
+            return getPlayer(((InventoryInteractEvent) event).getWhoClicked());
+        return null;
+    }
+
+    private static Player getPlayer(Entity entity) {
+        if (entity instanceof Player)
+            return (Player) entity;
+        if (!(entity instanceof Projectile)) return null;
+
+        Object shooter = ((Projectile) entity).getShooter();
+        return (shooter instanceof Player) ? (Player) shooter : null;
+    }
+
+    private static boolean isSupported(Class<? extends Event> type) {
+        return PlayerEvent.class.isAssignableFrom(type) || BlockBreakEvent.class.isAssignableFrom(type)
+                || BlockPlaceEvent.class.isAssignableFrom(type) || EntityEvent.class.isAssignableFrom(type)
+                || InventoryInteractEvent.class.isAssignableFrom(type);
+    }
+
+    private static void registerExecutor(final Class<? extends Event> type) {
+        Bukkit.getPluginManager().registerEvent(type, router, EventPriority.NORMAL, new EventExecutor() {
+            @Override
+            public void execute(Listener listener, Event event) {
+                // event types without their own handler list share the one of their superclass
+                if (!type.isInstance(event)) return;
+
+                Player player = getPlayer(event);
+                Game game = (player == null) ? null : Game.getGameFromPlayer(player);
+
+                // the victim decides the game, the attacker only when the victim isn't in a game
+                if (game == null && event instanceof EntityDamageByEntityEvent) {
+                    player = getPlayer(((EntityDamageByEntityEvent) event).getDamager());
+                    game = (player == null) ? null : Game.getGameFromPlayer(player);
+                }
+                if (game == null) return;
+
+                game.dispatchEvent(type, event, player);
+            }
+        }, plugin);
+    }
+}
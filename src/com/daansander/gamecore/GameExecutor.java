@@ -0,0 +1,139 @@
+package com.daansander.gamecore;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Runs the blocking work of {@link Game}'s outside of the Bukkit scheduler. Virtual threads are used when the JVM
+ * supports them, otherwise the work runs on a bounded pool owned by GameCore. Results are always handed back on the
+ * main thread
+ *
+ * @since 1.1
+ */
+public final class GameExecutor {
+
+    private static final int POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final int QUEUE_SIZE = 512;
+
+    private static volatile ExecutorService executor;
+    private static volatile boolean virtual = false;
+
+    private GameExecutor() {
+    }
+
+    /**
+     * Creates the executor, called when GameCore gets enabled
+     */
+    public static void start() {
+        try {
+            ExecutorService created = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            virtual = true;
+            executor = created;
+        } catch (ReflectiveOperationException e) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<Runnable>(QUEUE_SIZE), new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "GameCore-Worker-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            pool.allowCoreThreadTimeOut(true);
+            virtual = false;
+            executor = pool;
+        }
+    }
+
+    /**
+     * Interrupts all the running work and stops the executor, called when GameCore gets disabled
+     */
+    public static void shutdown() {
+        ExecutorService current = executor;
+        executor = null;
+
+        if (current != null)
+            current.shutdownNow();
+    }
+
+    /**
+     * Runs a task on the executor. The returned {@link CompletableFuture} is completed on the main thread of the
+     * server, cancelling it interrupts the task if it's still running
+     *
+     * @param plugin the {@link Plugin} that is used to get back on the main thread
+     * @param task   the blocking work to run
+     * @param <T>    the type of the result
+     * @return a {@link CompletableFuture} that completes on the main thread with the result of the task
+     */
+    public static <T> CompletableFuture<T> submit(final Plugin plugin, final Callable<T> task) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        ExecutorService current = executor;
+
+        if (current == null) {
+            result.completeExceptionally(new IllegalStateException("GameCore isn't enabled"));
+            return result;
+        }
+
+        final Future<?> future;
+        try {
+            future = current.submit(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        complete(plugin, result, task.call(), null);
+                    } catch (Throwable throwable) {
+                        complete(plugin, result, null, throwable);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        result.whenComplete(new BiConsumer<T, Throwable>() {
+            @Override
+            public void accept(T value, Throwable throwable) {
+                if (result.isCancelled())
+                    future.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Checks whether the executor is using virtual threads
+     *
+     * @return if the tasks are running on virtual threads
+     */
+    public static boolean isVirtual() {
+        return virtual;
+    }
+
+    private static <T> void complete(Plugin plugin, final CompletableFuture<T> result, final T value,
+                                     final Throwable throwable) {
+        if (result.isDone()) return;
+
+        Runnable completion = new Runnable() {
+            @Override
+            public void run() {
+                if (throwable == null)
+                    result.complete(value);
+                else
+                    result.completeExceptionally(throwable);
+            }
+        };
+
+        if (plugin.isEnabled())
+            Bukkit.getScheduler().runTask(plugin, completion);
+        else
+            completion.run();
+    }
+}
@@ -218,11 +218,15 @@ public final class GameSign {
                     List<Game> games = (gameSign.GAME_TAG.equalsIgnoreCase("all")) ?
                             Game.getGameInState(Game.GameState.WAITING) : Game.getGameInState(Game.GameState.WAITING, gameSign.GAME_TAG);
 
-                    if (games == null || games.size() == 0) continue;
+                    for (int g = games.size() - 1; g >= 0; g--)
+                        if (games.get(g).isFull())
+                            games.remove(g);
+
+                    if (games.isEmpty()) continue;
 
                     List<Sign> signs = gameSign.signs;
 
-                    for (int s = 0; s < signs.size(); s++) {
+                    for (int s = 0; s < signs.size() && !games.isEmpty(); s++) {
                         Game game = games.get(0);
 
                         Sign sign = signs.get(s);
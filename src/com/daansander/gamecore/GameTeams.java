@@ -0,0 +1,348 @@
+package com.daansander.gamecore;
+
+import org.bukkit.entity.Player;
+
+import java.util.*;
+
+/**
+ * Divides the {@link Player}'s of a {@link Game} into teams. {@link Party} members are kept together and the teams
+ * are balanced by a {@link SkillScore}. Membership is stored in flat arrays indexed by roster slot together with an
+ * entity id to slot table, so looking up the team of a {@link Player} doesn't allocate
+ *
+ * @since 1.1
+ */
+public final class GameTeams {
+
+    private static final int EMPTY = -1;
+
+    public final int TEAM_COUNT, TEAM_SIZE;
+
+    private final Player[] slots;
+    private final int[] slotTeams;
+    private final double[] slotScores;
+    private final int[] teamSizes;
+    private final double[] teamScores;
+    private final int[] tableKeys, tableSlots;
+    private final int tableMask;
+
+    /**
+     * Constructor for a {@link GameTeams} object
+     *
+     * @param team_count how many teams the {@link Game} has
+     * @param team_size  the maximum amount of {@link Player}'s in a team
+     */
+    public GameTeams(int team_count, int team_size) {
+        if (team_count < 1 || team_size < 1)
+            throw new IllegalArgumentException("A game needs at least one team with room for one player");
+
+        this.TEAM_COUNT = team_count;
+        this.TEAM_SIZE = team_size;
+
+        int capacity = team_count * team_size;
+        this.slots = new Player[capacity];
+        this.slotTeams = new int[capacity];
+        this.slotScores = new double[capacity];
+        this.teamSizes = new int[team_count];
+        this.teamScores = new double[team_count];
+
+        int tableSize = Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) << 1;
+        this.tableKeys = new int[tableSize];
+        this.tableSlots = new int[tableSize];
+        this.tableMask = tableSize - 1;
+        Arrays.fill(tableKeys, EMPTY);
+    }
+
+    /**
+     * Divides the {@link Player}'s over the teams, the current teams are cleared first. {@link Party} members that are
+     * in the roster are placed in the same team when it has room for them. Every group goes to the team with the
+     * lowest total {@link SkillScore} among the teams that stay within an even share of the roster, so the teams never
+     * differ in size by more than a {@link Party} needs
+     *
+     * @param players    the {@link Player}'s to divide
+     * @param skillScore the {@link SkillScore} that is used to balance the teams
+     * @return the {@link Player}'s that didn't fit in any team
+     */
+    public List<Player> allocate(List<Player> players, SkillScore skillScore) {
+        clear();
+
+        Map<UUID, Player> roster = new HashMap<>();
+        for (int i = 0; i < players.size(); i++)
+            roster.put(players.get(i).getUniqueId(), players.get(i));
+
+        List<Group> groups = new ArrayList<>();
+        Set<UUID> grouped = new HashSet<>();
+
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            if (grouped.contains(player.getUniqueId())) continue;
+
+            Party party = Party.getParty(player);
+            List<UUID> members = (party == null) ? Collections.singletonList(player.getUniqueId()) : party.getMembers();
+            Group group = new Group();
+
+            for (int m = 0; m < members.size(); m++) {
+                Player member = roster.get(members.get(m));
+                if (member == null || !grouped.add(member.getUniqueId())) continue;
+
+                if (group.players.size() == TEAM_SIZE) {
+                    groups.add(group);
+                    group = new Group();
+                }
+                group.add(member, skillScore.getScore(member));
+            }
+            groups.add(group);
+        }
+
+        Collections.sort(groups, new Comparator<Group>() {
+            @Override
+            public int compare(Group first, Group second) {
+                if (first.players.size() != second.players.size())
+                    return second.players.size() - first.players.size();
+                return Double.compare(second.score, first.score);
+            }
+        });
+
+        List<Player> unassigned = new ArrayList<>();
+        int share = Math.min(TEAM_SIZE, (players.size() + TEAM_COUNT - 1) / TEAM_COUNT);
+        // how many teams get the full share, the others get one player less
+        int full = players.size() - TEAM_COUNT * (share - 1);
+
+        for (int i = 0; i < groups.size(); i++) {
+            Group group = groups.get(i);
+            int team = findTeam(group.players.size(), share, full);
+
+            if (team != EMPTY) {
+                for (int p = 0; p < group.players.size(); p++)
+                    assign(group.players.get(p), team, group.scores.get(p));
+                continue;
+            }
+
+            // no team has room for the whole group, split it up
+            for (int p = 0; p < group.players.size(); p++) {
+                team = findTeam(1, share, full);
+                if (team == EMPTY)
+                    unassigned.add(group.players.get(p));
+                else
+                    assign(group.players.get(p), team, group.scores.get(p));
+            }
+        }
+        return unassigned;
+    }
+
+    /**
+     * Puts a {@link Player} in a team, the {@link Player} only leaves the current team when the new team has room
+     *
+     * @param player the {@link Player} to put in the team
+     * @param team   the 0 based index of the team
+     * @return if the {@link Player} is in the team now
+     */
+    public boolean assign(Player player, int team) {
+        int index = find(player.getEntityId());
+        return assign(player, team, (index == EMPTY) ? 0 : slotScores[tableSlots[index]]);
+    }
+
+    /**
+     * Puts a {@link Player} back in a team. When the preferred team has no room the {@link Player} goes to the team
+     * with the lowest total {@link SkillScore} that still has room
+     *
+     * @param player    the {@link Player} to put in a team
+     * @param preferred the 0 based index of the team the {@link Player} should go to, -1 for any team
+     * @param score     the {@link SkillScore} of the {@link Player}
+     * @return the 0 based index of the team the {@link Player} is in now, -1 if no team had room
+     */
+    public int join(Player player, int preferred, double score) {
+        remove(player);
+        if (preferred != EMPTY && assign(player, preferred, score))
+            return preferred;
+
+        int team = findTeam(1, TEAM_SIZE, TEAM_COUNT);
+        if (team != EMPTY)
+            assign(player, team, score);
+        return team;
+    }
+
+    private boolean assign(Player player, int team, double score) {
+        if (team < 0 || team >= TEAM_COUNT)
+            throw new IllegalArgumentException("Invalid team " + team);
+
+        int current = getTeam(player);
+        if (current == team) return true;
+        if (teamSizes[team] >= TEAM_SIZE) return false;
+
+        remove(player);
+
+        int slot = 0;
+        while (slots[slot] != null)
+            slot++;
+
+        slots[slot] = player;
+        slotTeams[slot] = team;
+        slotScores[slot] = score;
+        teamSizes[team]++;
+        teamScores[team] += score;
+        put(player.getEntityId(), slot);
+        return true;
+    }
+
+    /**
+     * Removes a {@link Player} from the team it's in
+     *
+     * @param player the {@link Player} to remove
+     */
+    public void remove(Player player) {
+        int index = find(player.getEntityId());
+        if (index == EMPTY) return;
+
+        int slot = tableSlots[index];
+        teamSizes[slotTeams[slot]]--;
+        teamScores[slotTeams[slot]] -= slotScores[slot];
+        slots[slot] = null;
+        delete(index);
+    }
+
+    /**
+     * Removes all the {@link Player}'s from the teams
+     */
+    public void clear() {
+        Arrays.fill(slots, null);
+        Arrays.fill(teamSizes, 0);
+        Arrays.fill(teamScores, 0);
+        Arrays.fill(tableKeys, EMPTY);
+    }
+
+    /**
+     * Gets the team of a {@link Player}
+     *
+     * @param player the {@link Player} to get the team of
+     * @return the 0 based index of the team, -1 if the {@link Player} isn't in a team
+     */
+    public int getTeam(Player player) {
+        int index = find(player.getEntityId());
+        return (index == EMPTY) ? EMPTY : slotTeams[tableSlots[index]];
+    }
+
+    /**
+     * Checks whether two {@link Player}'s are in the same team
+     *
+     * @param first  the first {@link Player}
+     * @param second the second {@link Player}
+     * @return if both {@link Player}'s are in the same team
+     */
+    public boolean isSameTeam(Player first, Player second) {
+        int team = getTeam(first);
+        return team != EMPTY && team == getTeam(second);
+    }
+
+    /**
+     * Gets all the members of a team
+     *
+     * @param team the 0 based index of the team
+     * @return the {@link Player}'s in the team
+     */
+    public List<Player> getMembers(int team) {
+        List<Player> members = new ArrayList<>();
+        for (int i = 0; i < slots.length; i++)
+            if (slots[i] != null && slotTeams[i] == team)
+                members.add(slots[i]);
+        return members;
+    }
+
+    /**
+     * Gets how many {@link Player}'s are in a team
+     *
+     * @param team the 0 based index of the team
+     * @return the amount of {@link Player}'s in the team
+     */
+    public int getSize(int team) {
+        return teamSizes[team];
+    }
+
+    /**
+     * Finds the team with the lowest total score that stays within its share when the room is added to it, only the
+     * first full teams may reach the share. When no team does, the team with the fewest {@link Player}'s that still
+     * has room is used
+     */
+    private int findTeam(int room, int share, int full) {
+        int reached = 0;
+        for (int team = 0; team < TEAM_COUNT; team++)
+            if (teamSizes[team] >= share)
+                reached++;
+
+        int best = EMPTY;
+        for (int team = 0; team < TEAM_COUNT; team++) {
+            int size = teamSizes[team] + room;
+            if (size > Math.max(share, room) || (size >= share && reached >= full)) continue;
+
+            if (best == EMPTY || teamScores[team] < teamScores[best]
+                    || (teamScores[team] == teamScores[best] && teamSizes[team] < teamSizes[best]))
+                best = team;
+        }
+        if (best != EMPTY) return best;
+
+        for (int team = 0; team < TEAM_COUNT; team++) {
+            if (TEAM_SIZE - teamSizes[team] < room) continue;
+
+            if (best == EMPTY || teamSizes[team] < teamSizes[best])
+                best = team;
+        }
+        return best;
+    }
+
+    private int find(int key) {
+        int index = mix(key) & tableMask;
+        while (tableKeys[index] != EMPTY) {
+            if (tableKeys[index] == key)
+                return index;
+            index = (index + 1) & tableMask;
+        }
+        return EMPTY;
+    }
+
+    private void put(int key, int slot) {
+        int index = mix(key) & tableMask;
+        while (tableKeys[index] != EMPTY && tableKeys[index] != key)
+            index = (index + 1) & tableMask;
+
+        tableKeys[index] = key;
+        tableSlots[index] = slot;
+    }
+
+    /**
+     * Removes an entry from the linear probing table by shifting the entries after it back, so lookups never have to
+     * skip over deleted entries
+     */
+    private void delete(int index) {
+        int hole = index;
+        int next = (index + 1) & tableMask;
+
+        while (tableKeys[next] != EMPTY) {
+            int home = mix(tableKeys[next]) & tableMask;
+
+            if (((next - home) & tableMask) >= ((next - hole) & tableMask)) {
+                tableKeys[hole] = tableKeys[next];
+                tableSlots[hole] = tableSlots[next];
+                hole = next;
+            }
+            next = (next + 1) & tableMask;
+        }
+        tableKeys[hole] = EMPTY;
+    }
+
+    private static int mix(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Group {
+
+        final List<Player> players = new ArrayList<>();
+        final List<Double> scores = new ArrayList<>();
+        double score = 0;
+
+        void add(Player player, double playerScore) {
+            players.add(player);
+            scores.add(playerScore);
+            score += playerScore;
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package com.daansander.gamecore;
+
+import com.daansander.gamecore.stats.PlayerStats;
+import com.daansander.gamecore.stats.StatsStore;
+import com.daansander.gamecore.util.RankedSkipList;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Sign;
+import org.bukkit.metadata.FixedMetadataValue;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.*;
+
+/**
+ * A class that keeps the ranking of all the players for a game type and {@link PlayerStats.Stat} up to date and
+ * manages the leaderboard {@link Sign}'s that display it. Rankings are updated incrementally whenever the
+ * {@link StatsStore} reports a change, {@link Sign}'s are only updated when the part of the ranking they show changed
+ *
+ * @since 1.1
+ */
+public final class Leaderboard {
+
+    public static final int DEFAULT_SIZE = 10;
+
+    public final String TYPE;
+    public final PlayerStats.Stat STAT;
+
+    private final RankedSkipList<Entry> ranking = new RankedSkipList<>(new Comparator<Entry>() {
+        @Override
+        public int compare(Entry first, Entry second) {
+            if (first.value != second.value)
+                return (first.value > second.value) ? -1 : 1;
+            return first.player.compareTo(second.player);
+        }
+    });
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final List<RankSign> signs = new ArrayList<>();
+    private int visibleSize = 0;
+    private boolean outdated = false;
+
+    private static Map<String, Leaderboard> leaderboards = new HashMap<>();
+
+    /**
+     * Constructor for a {@link Leaderboard} object
+     *
+     * @param type the game type to rank the players for
+     * @param stat the {@link PlayerStats.Stat} to rank the players by
+     */
+    private Leaderboard(String type, PlayerStats.Stat stat) {
+        this.TYPE = type.toLowerCase();
+        this.STAT = stat;
+    }
+
+    /**
+     * Get the {@link Leaderboard} for a game type and {@link PlayerStats.Stat}, it will be created if it doesn't exist
+     *
+     * @param type the game type (the tag without id)
+     * @param stat the {@link PlayerStats.Stat} to rank by
+     * @return the {@link Leaderboard} object for the game type and {@link PlayerStats.Stat}
+     */
+    public static Leaderboard getLeaderboard(String type, PlayerStats.Stat stat) {
+        String key = type.toLowerCase() + ":" + stat.name();
+        Leaderboard leaderboard = leaderboards.get(key);
+
+        if (leaderboard == null) {
+            leaderboard = new Leaderboard(type, stat);
+            leaderboards.put(key, leaderboard);
+        }
+        return leaderboard;
+    }
+
+    /**
+     * Get the {@link Leaderboard} for a game type and {@link PlayerStats.Stat} without creating it
+     *
+     * @param type the game type (the tag without id)
+     * @param stat the {@link PlayerStats.Stat} to rank by
+     * @return the {@link Leaderboard} object for the game type and {@link PlayerStats.Stat}, null if nobody has been
+     * ranked for it yet
+     */
+    public static Leaderboard findLeaderboard(String type, PlayerStats.Stat stat) {
+        return leaderboards.get(type.toLowerCase() + ":" + stat.name());
+    }
+
+    /**
+     * Gets the name of a ranked {@link org.bukkit.entity.Player} from the names the {@link StatsStore} remembers, so
+     * it never touches the disk or the network
+     *
+     * @param player the {@link UUID} of the {@link org.bukkit.entity.Player}
+     * @return the last known name, the start of the {@link UUID} if the name isn't known
+     */
+    public static String getName(UUID player) {
+        StatsStore statsStore = GameCore.getStatsStore();
+        String name = (statsStore == null) ? null : statsStore.getName(player);
+        return (name == null) ? player.toString().substring(0, 8) : name;
+    }
+
+    /**
+     * Redraws the {@link Sign}'s that show a {@link org.bukkit.entity.Player} after its name changed
+     *
+     * @param player the {@link UUID} of the {@link org.bukkit.entity.Player}
+     */
+    public static void updateName(UUID player) {
+        for (Leaderboard leaderboard : leaderboards.values()) {
+            Entry entry = leaderboard.entries.get(player);
+            if (entry != null && leaderboard.ranking.rank(entry) < leaderboard.visibleSize)
+                leaderboard.updateSigns();
+        }
+    }
+
+    /**
+     * Updates the {@link Leaderboard}'s of a game type with the new stats of a {@link org.bukkit.entity.Player}
+     *
+     * @param stats the new stats
+     */
+    public static void update(PlayerStats stats) {
+        for (PlayerStats.Stat stat : PlayerStats.Stat.values())
+            getLeaderboard(stats.TYPE, stat).setValue(stats.PLAYER, stat.getValue(stats));
+    }
+
+    /**
+     * Sets the value of a {@link org.bukkit.entity.Player} and moves it to the right rank
+     *
+     * @param player the {@link UUID} of the {@link org.bukkit.entity.Player}
+     * @param value  the new value
+     */
+    public void setValue(UUID player, long value) {
+        if (move(player, value))
+            updateSigns();
+    }
+
+    /**
+     * Moves a {@link org.bukkit.entity.Player} to the rank of a new value without redrawing the {@link Sign}'s
+     *
+     * @return if the part of the ranking that is shown on {@link Sign}'s changed
+     */
+    private boolean move(UUID player, long value) {
+        Entry old = entries.get(player);
+        if (old != null && old.value == value) return false;
+
+        int oldRank = -1;
+        if (old != null) {
+            oldRank = ranking.rank(old);
+            ranking.remove(old);
+        }
+
+        Entry entry = new Entry(player, value);
+        entries.put(player, entry);
+        ranking.add(entry);
+
+        return (oldRank >= 0 && oldRank < visibleSize) || ranking.rank(entry) < visibleSize;
+    }
+
+    /**
+     * Gets the rank of a {@link org.bukkit.entity.Player}
+     *
+     * @param player the {@link UUID} of the {@link org.bukkit.entity.Player}
+     * @return the 1 based rank of the {@link org.bukkit.entity.Player}, -1 if the player isn't ranked
+     */
+    public int getRank(UUID player) {
+        Entry entry = entries.get(player);
+        if (entry == null) return -1;
+        return ranking.rank(entry) + 1;
+    }
+
+    /**
+     * Gets the value of a {@link org.bukkit.entity.Player}
+     *
+     * @param player the {@link UUID} of the {@link org.bukkit.entity.Player}
+     * @return the value of the {@link org.bukkit.entity.Player}, 0 if the player isn't ranked
+     */
+    public long getValue(UUID player) {
+        Entry entry = entries.get(player);
+        return (entry == null) ? 0 : entry.value;
+    }
+
+    /**
+     * Gets the {@link org.bukkit.entity.Player} at a rank
+     *
+     * @param rank the 1 based rank
+     * @return the {@link UUID} of the {@link org.bukkit.entity.Player} at the rank, null if nobody has that rank
+     */
+    public UUID getPlayer(int rank) {
+        Entry entry = ranking.get(rank - 1);
+        return (entry == null) ? null : entry.player;
+    }
+
+    /**
+     * Gets how many players are ranked
+     *
+     * @return the amount of ranked players
+     */
+    public int size() {
+        return ranking.size();
+    }
+
+    /**
+     * Formats a value of this {@link Leaderboard} for displaying
+     *
+     * @param value the value to format
+     * @return the formatted value
+     */
+    public String format(long value) {
+        if (STAT == PlayerStats.Stat.TIME_IN_GAME)
+            return (value / 60000) + "m";
+        return String.valueOf(value);
+    }
+
+    /**
+     * Adds a {@link Sign} that displays a rank of a {@link Leaderboard}. The {@link Sign} has to be formatted as
+     * [top], game type, stat, rank
+     *
+     * @param sign the {@link Sign} object to add
+     * @return if the {@link Sign} was valid
+     */
+    public static boolean addSign(Sign sign) {
+        PlayerStats.Stat stat = PlayerStats.Stat.fromName(sign.getLine(2));
+        int rank;
+
+        try {
+            rank = Integer.parseInt(sign.getLine(3).trim());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (stat == null || rank < 1 || sign.getLine(1).isEmpty()) return false;
+
+        getLeaderboard(sign.getLine(1), stat).addSign(sign, rank);
+        return true;
+    }
+
+    private void addSign(Sign sign, int rank) {
+        for (int i = 0; i < signs.size(); i++)
+            if (signs.get(i).sign.getLocation().equals(sign.getLocation()))
+                return;
+
+        RankSign rankSign = new RankSign(sign, rank);
+        signs.add(rankSign);
+        visibleSize = Math.max(visibleSize, rank);
+        updateSign(rankSign);
+    }
+
+    private void updateSigns() {
+        for (int i = 0; i < signs.size(); i++)
+            updateSign(signs.get(i));
+    }
+
+    private void updateSign(RankSign rankSign) {
+        Entry entry = ranking.get(rankSign.rank - 1);
+        String name = "-";
+        String value = "";
+
+        if (entry != null) {
+            name = getName(entry.player);
+            value = format(entry.value);
+        }
+
+        Sign sign = rankSign.sign;
+        if (name.equals(sign.getLine(1)) && value.equals(sign.getLine(2))) return;
+
+        sign.setLine(0, "#" + rankSign.rank + " " + TYPE);
+        sign.setLine(1, name);
+        sign.setLine(2, value);
+        sign.setLine(3, STAT.name().toLowerCase());
+        sign.update();
+    }
+
+    /**
+     * Gets an {@link StatsStore.Observer} that keeps all the {@link Leaderboard}'s up to date
+     *
+     * @return the {@link StatsStore.Observer}
+     */
+    public static StatsStore.Observer getObserver() {
+        return new StatsStore.Observer() {
+            @Override
+            public void onStatsUpdate(PlayerStats stats) {
+                update(stats);
+            }
+
+            @Override
+            public void onStatsLoad(List<PlayerStats> stats) {
+                // the signs are redrawn once when the whole load is done
+                for (int i = 0; i < stats.size(); i++) {
+                    PlayerStats loaded = stats.get(i);
+
+                    for (PlayerStats.Stat stat : PlayerStats.Stat.values()) {
+                        Leaderboard leaderboard = getLeaderboard(loaded.TYPE, stat);
+                        if (leaderboard.move(loaded.PLAYER, stat.getValue(loaded)))
+                            leaderboard.outdated = true;
+                    }
+                }
+            }
+
+            @Override
+            public void onLoadComplete() {
+                for (Leaderboard leaderboard : leaderboards.values()) {
+                    if (!leaderboard.outdated) continue;
+
+                    leaderboard.outdated = false;
+                    leaderboard.updateSigns();
+                }
+            }
+        };
+    }
+
+    /**
+     * Loads all the registered leaderboard {@link Sign}'s from the {@link World}
+     *
+     * @param world the {@link World} to load the leaderboard {@link Sign}'s from
+     */
+    @SuppressWarnings("unchecked")
+    public static void loadSigns(World world) {
+        if (!world.hasMetadata("leaderboard_signs")) return;
+
+        Map<String, List<Location>> sign_locations =
+                (Map<String, List<Location>>) world.getMetadata("leaderboard_signs").get(0).value();
+        if (sign_locations == null) return;
+
+        for (Map.Entry<String, List<Location>> entry : sign_locations.entrySet()) {
+            String[] key = entry.getKey().split(":");
+            PlayerStats.Stat stat = PlayerStats.Stat.fromName(key[1]);
+            if (stat == null) continue;
+
+            Leaderboard leaderboard = getLeaderboard(key[0], stat);
+            int rank = Integer.parseInt(key[2]);
+            List<Location> locations = entry.getValue();
+
+            for (int i = 0; i < locations.size(); i++) {
+                BlockState state = world.getBlockAt(locations.get(i)).getState();
+                if (state instanceof Sign)
+                    leaderboard.addSign((Sign) state, rank);
+            }
+        }
+    }
+
+    /**
+     * Saves all the leaderboard {@link Sign}'s into the {@link World}'s metadata
+     *
+     * @param plugin the {@link JavaPlugin} that owns/manages the {@link Sign}'s
+     * @param world  the {@link World} to save the leaderboard {@link Sign}'s to
+     */
+    public static void saveSigns(JavaPlugin plugin, World world) {
+        Map<String, List<Location>> sign_locations = new HashMap<>();
+
+        for (Leaderboard leaderboard : leaderboards.values()) {
+            for (int i = 0; i < leaderboard.signs.size(); i++) {
+                RankSign rankSign = leaderboard.signs.get(i);
+                String key = leaderboard.TYPE + ":" + leaderboard.STAT.name() + ":" + rankSign.rank;
+
+                List<Location> locations = sign_locations.get(key);
+                if (locations == null) {
+                    locations = new ArrayList<>();
+                    sign_locations.put(key, locations);
+                }
+                locations.add(rankSign.sign.getLocation());
+            }
+        }
+
+        world.removeMetadata("leaderboard_signs", plugin);
+        world.setMetadata("leaderboard_signs", new FixedMetadataValue(plugin, sign_locations));
+    }
+
+    private static final class Entry {
+
+        final UUID player;
+        final long value;
+
+        Entry(UUID player, long value) {
+            this.player = player;
+            this.value = value;
+        }
+    }
+
+    private static final class RankSign {
+
+        final Sign sign;
+        final int rank;
+
+        RankSign(Sign sign, int rank) {
+            this.sign = sign;
+            this.rank = rank;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.daansander.gamecore;
+
+import org.bukkit.entity.Player;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A group of {@link Player}'s that want to play together, {@link GameTeams} keeps the members of a {@link Party} in
+ * the same team when there is room for them. Parties are changed on the main thread, they can be read from any thread.
+ * A {@link Player} leaves its {@link Party} when it quits the server
+ *
+ * @since 1.1
+ */
+public final class Party {
+
+    public final UUID LEADER;
+    private final List<UUID> members = new CopyOnWriteArrayList<>();
+
+    private static final Map<UUID, Party> parties = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for a {@link Party} object
+     *
+     * @param leader the {@link Player} that leads the {@link Party}
+     */
+    private Party(Player leader) {
+        this.LEADER = leader.getUniqueId();
+    }
+
+    /**
+     * Creates a new {@link Party}, the leader will leave the {@link Party} it's currently in
+     *
+     * @param leader the {@link Player} that leads the {@link Party}
+     * @return the created {@link Party} object
+     */
+    public static Party create(Player leader) {
+        Party party = new Party(leader);
+        party.add(leader);
+        return party;
+    }
+
+    /**
+     * Gets the {@link Party} that the {@link Player} is in
+     *
+     * @param player the {@link Player} to get the {@link Party} from
+     * @return the {@link Party} of the {@link Player}, null if the {@link Player} isn't in a {@link Party}
+     */
+    public static Party getParty(Player player) {
+        return parties.get(player.getUniqueId());
+    }
+
+    /**
+     * Removes a {@link Player} from the {@link Party} it's in, called when the {@link Player} quits
+     *
+     * @param player the {@link Player} that leaves its {@link Party}
+     */
+    public static void leave(Player player) {
+        Party party = getParty(player);
+        if (party != null)
+            party.remove(player);
+    }
+
+    /**
+     * Adds a {@link Player} to the {@link Party}, the {@link Player} will leave the {@link Party} it's currently
+     * in
+     *
+     * @param player the {@link Player} to add
+     */
+    public void add(Player player) {
+        Party current = getParty(player);
+        if (current == this) return;
+        if (current != null)
+            current.remove(player);
+
+        members.add(player.getUniqueId());
+        parties.put(player.getUniqueId(), this);
+    }
+
+    /**
+     * Removes a {@link Player} from the {@link Party}, the {@link Party} is disbanded when the leader leaves
+     *
+     * @param player the {@link Player} to remove
+     */
+    public void remove(Player player) {
+        if (player.getUniqueId().equals(LEADER)) {
+            disband();
+            return;
+        }
+        if (members.remove(player.getUniqueId()))
+            parties.remove(player.getUniqueId());
+    }
+
+    /**
+     * Removes all the members from the {@link Party}
+     */
+    public void disband() {
+        for (int i = 0; i < members.size(); i++)
+            parties.remove(members.get(i));
+        members.clear();
+    }
+
+    /**
+     * Getter for the {@link Party#members} object
+     *
+     * @return a snapshot of the {@link UUID}'s of all the members including the leader
+     */
+    public List<UUID> getMembers() {
+        return Collections.unmodifiableList(new ArrayList<>(members));
+    }
+}
@@ -0,0 +1,249 @@
+package com.daansander.gamecore;
+
+import com.daansander.gamecore.events.game.GameStopEvent;
+import com.daansander.gamecore.events.player.PlayerLeaveGameEvent;
+import com.daansander.gamecore.sidebar.SidebarFrame;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Draws the sidebars of the {@link Game}'s that enabled one. Every update the shared {@link SidebarFrame} of a
+ * {@link Game} is built once, after that every {@link Player} in the roster only gets the lines that changed since
+ * the last frame they have been sent. Rendering is spread over ticks so very large {@link Game}'s don't draw all
+ * their {@link Player}'s in a single tick
+ *
+ * @since 1.1
+ */
+public final class SidebarService implements Listener {
+
+    private static final int PLAYERS_PER_TICK = 40;
+    private static final int PREFIX_LENGTH = 16;
+    private static final int TITLE_LENGTH = 32;
+
+    private static final Map<Game, GameSidebar> sidebars = new LinkedHashMap<>();
+    private static final Map<UUID, PlayerSidebar> playerSidebars = new HashMap<>();
+    private static final Queue<Player> removals = new ConcurrentLinkedQueue<>();
+    private static final SidebarFrame overlay = new SidebarFrame();
+    private static final String[] entries = new String[SidebarFrame.MAX_LINES];
+    private static int rotation = 0;
+
+    static {
+        ChatColor[] colors = ChatColor.values();
+        for (int i = 0; i < entries.length; i++)
+            entries[i] = colors[i].toString() + ChatColor.RESET;
+    }
+
+    private SidebarService() {
+    }
+
+    /**
+     * Starts the task that draws the sidebars
+     *
+     * @param plugin the {@link JavaPlugin} that owns the task
+     */
+    public static void start(JavaPlugin plugin) {
+        Bukkit.getPluginManager().registerEvents(new SidebarService(), plugin);
+        Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
+            @Override
+            public void run() {
+                tick();
+            }
+        }, 1, 1);
+    }
+
+    /**
+     * Enables the sidebar of a {@link Game}
+     *
+     * @param game the {@link Game} to draw the sidebar for
+     */
+    static synchronized void register(Game game) {
+        if (!sidebars.containsKey(game))
+            sidebars.put(game, new GameSidebar(game));
+    }
+
+    /**
+     * Marks the sidebar of a {@link Game} as outdated, it will be rebuilt on the next tick. Can be called from any
+     * thread
+     *
+     * @param game the {@link Game} to update the sidebar of
+     */
+    static synchronized void update(Game game) {
+        GameSidebar sidebar = sidebars.get(game);
+        if (sidebar != null)
+            sidebar.dirty = true;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLeave(PlayerLeaveGameEvent event) {
+        removals.add(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onGameStop(GameStopEvent event) {
+        removals.addAll(event.getPlayers());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        playerSidebars.remove(event.getPlayer().getUniqueId());
+    }
+
+    private static void tick() {
+        Player removed;
+        while ((removed = removals.poll()) != null) {
+            if (playerSidebars.remove(removed.getUniqueId()) != null && removed.isOnline())
+                removed.setScoreboard(Bukkit.getScoreboardManager().getMainScoreboard());
+        }
+
+        List<GameSidebar> games;
+        synchronized (SidebarService.class) {
+            games = new ArrayList<>(sidebars.values());
+        }
+
+        int budget = PLAYERS_PER_TICK;
+        // a different game goes first every tick so a very large game can't use up the budget of the others
+        int start = games.isEmpty() ? 0 : rotation % games.size();
+        rotation = start + 1;
+
+        for (int i = 0; i < games.size(); i++) {
+            GameSidebar sidebar = games.get((start + i) % games.size());
+
+            // the shared frame is only rebuilt when every player has received the previous one
+            if (sidebar.queue.isEmpty() && sidebar.dirty) {
+                sidebar.dirty = false;
+                sidebar.frame.clear();
+                sidebar.game.onSidebar(sidebar.frame);
+                sidebar.queue.addAll(sidebar.game.getPlayers());
+            }
+
+            while (budget > 0 && !sidebar.queue.isEmpty()) {
+                Player player = sidebar.queue.poll();
+                if (!player.isOnline() || Game.getGameFromPlayer(player) != sidebar.game) continue;
+
+                render(sidebar, player);
+                budget--;
+            }
+        }
+    }
+
+    private static void render(GameSidebar sidebar, Player player) {
+        PlayerSidebar playerSidebar = playerSidebars.get(player.getUniqueId());
+
+        if (playerSidebar == null) {
+            playerSidebar = new PlayerSidebar();
+            playerSidebars.put(player.getUniqueId(), playerSidebar);
+        }
+        if (player.getScoreboard() != playerSidebar.scoreboard)
+            player.setScoreboard(playerSidebar.scoreboard);
+
+        overlay.clear();
+        sidebar.game.onSidebar(player, overlay);
+
+        String title = (overlay.getTitle() != null) ? overlay.getTitle() : sidebar.frame.getTitle();
+        if (title == null)
+            title = sidebar.game.TAG;
+        if (title.length() > TITLE_LENGTH) {
+            int split = (title.charAt(TITLE_LENGTH - 1) == ChatColor.COLOR_CHAR) ? TITLE_LENGTH - 1 : TITLE_LENGTH;
+            title = title.substring(0, split);
+        }
+        if (!title.equals(playerSidebar.title)) {
+            playerSidebar.objective.setDisplayName(title);
+            playerSidebar.title = title;
+        }
+
+        int size = Math.max(sidebar.frame.size(), overlay.size());
+
+        for (int line = 0; line < size; line++) {
+            String text = overlay.getLine(line);
+            if (text == null)
+                text = sidebar.frame.getLine(line);
+            if (text == null)
+                text = "";
+
+            playerSidebar.setLine(line, text);
+        }
+
+        for (int line = size; line < SidebarFrame.MAX_LINES; line++)
+            playerSidebar.removeLine(line);
+    }
+
+    /**
+     * The shared sidebar state of a {@link Game}
+     */
+    private static final class GameSidebar {
+
+        final Game game;
+        final SidebarFrame frame = new SidebarFrame();
+        final Queue<Player> queue = new ArrayDeque<>();
+        volatile boolean dirty = true;
+
+        GameSidebar(Game game) {
+            this.game = game;
+        }
+    }
+
+    /**
+     * The sidebar of a single {@link Player} and the lines that have been sent to it. Every line has a fixed entry
+     * and {@link Team}, changing a line only changes the prefix and suffix of its {@link Team}
+     */
+    private static final class PlayerSidebar {
+
+        final Scoreboard scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
+        final Objective objective = scoreboard.registerNewObjective("gamecore", "dummy");
+        final Team[] teams = new Team[SidebarFrame.MAX_LINES];
+        final String[] sent = new String[SidebarFrame.MAX_LINES];
+        String title;
+
+        PlayerSidebar() {
+            objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+        }
+
+        void setLine(int line, String text) {
+            if (text.equals(sent[line])) return;
+
+            if (teams[line] == null) {
+                teams[line] = scoreboard.registerNewTeam("line" + line);
+                teams[line].addEntry(entries[line]);
+            }
+
+            String prefix = text;
+            String suffix = "";
+
+            if (text.length() > PREFIX_LENGTH) {
+                int split = (text.charAt(PREFIX_LENGTH - 1) == ChatColor.COLOR_CHAR) ? PREFIX_LENGTH - 1 : PREFIX_LENGTH;
+                prefix = text.substring(0, split);
+                suffix = ChatColor.getLastColors(prefix) + text.substring(split);
+
+                if (suffix.length() > PREFIX_LENGTH)
+                    suffix = suffix.substring(0, PREFIX_LENGTH);
+            }
+
+            teams[line].setPrefix(prefix);
+            teams[line].setSuffix(suffix);
+
+            if (sent[line] == null)
+                objective.getScore(entries[line]).setScore(SidebarFrame.MAX_LINES - line);
+            sent[line] = text;
+        }
+
+        void removeLine(int line) {
+            if (sent[line] == null) return;
+
+            scoreboard.resetScores(entries[line]);
+            sent[line] = null;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.daansander.gamecore;
+
+import org.bukkit.entity.Player;
+
+/**
+ * An interface that rates how strong a {@link Player} is, used to balance the teams of a {@link Game}
+ *
+ * @since 1.1
+ */
+public interface SkillScore {
+
+    /**
+     * A {@link SkillScore} that rates every {@link Player} the same, the teams are only balanced by size
+     */
+    SkillScore EQUAL = new SkillScore() {
+        @Override
+        public double getScore(Player player) {
+            return 1;
+        }
+    };
+
+    /**
+     * Gets the score of a {@link Player}, a higher score means a stronger {@link Player}
+     *
+     * @param player the {@link Player} to rate
+     * @return the score of the {@link Player}
+     */
+    double getScore(Player player);
+}
@@ -2,10 +2,10 @@ package com.daansander.gamecore.events;
 
 import com.daansander.gamecore.Game;
 import org.bukkit.event.Event;
-import org.bukkit.event.HandlerList;
 
 /**
- * A superclass for all {@link Game} events
+ * A superclass for all {@link Game} events, every concrete event has its own HandlerList so listeners are only called
+ * for the event they registered for
  *
  * @author Daan Meijer
  * @since 1.0
@@ -13,7 +13,6 @@ import org.bukkit.event.HandlerList;
 public abstract class GameEvent extends Event {
 
     private Game game;
-    private HandlerList handlerList = new HandlerList();
 
     /**
      * Constructor for a {@link GameEvent} object
@@ -32,9 +31,4 @@ public abstract class GameEvent extends Event {
     public Game getGame() {
         return game;
     }
-
-    @Override
-    public HandlerList getHandlers() {
-        return handlerList;
-    }
 }
@@ -2,6 +2,7 @@ package com.daansander.gamecore.events.game;
 
 import com.daansander.gamecore.Game;
 import com.daansander.gamecore.events.GameEvent;
+import org.bukkit.event.HandlerList;
 
 /**
  * Event that is called when a game starts
@@ -11,7 +12,23 @@ import com.daansander.gamecore.events.GameEvent;
  */
 public class GameStartEvent extends GameEvent {
 
+    private static final HandlerList handlerList = new HandlerList();
+
     public GameStartEvent(Game game) {
         super(game);
     }
-}
\ No newline at end of file
+
+    @Override
+    public HandlerList getHandlers() {
+        return handlerList;
+    }
+
+    /**
+     * Getter for the {@link HandlerList} of this event, Bukkit requires this to be able to register listeners
+     *
+     * @return the {@link HandlerList} of the {@link GameStartEvent}
+     */
+    public static HandlerList getHandlerList() {
+        return handlerList;
+    }
+}
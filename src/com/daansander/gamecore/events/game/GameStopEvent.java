@@ -2,6 +2,10 @@ package com.daansander.gamecore.events.game;
 
 import com.daansander.gamecore.Game;
 import com.daansander.gamecore.events.GameEvent;
+import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
+
+import java.util.List;
 
 /**
  * Event that is called when a game is stopped
@@ -11,7 +15,53 @@ import com.daansander.gamecore.events.GameEvent;
  */
 public class GameStopEvent extends GameEvent {
 
-    public GameStopEvent(Game game) {
+    private static final HandlerList handlerList = new HandlerList();
+
+    private List<Player> players;
+    private List<Player> winners;
+
+    /**
+     * Constructor for a {@link GameStopEvent} object
+     *
+     * @param game    the game where the event has been executed from
+     * @param players the {@link Player}'s that were in the game when it stopped
+     * @param winners the {@link Player}'s that won the game
+     */
+    public GameStopEvent(Game game, List<Player> players, List<Player> winners) {
         super(game);
+        this.players = players;
+        this.winners = winners;
+    }
+
+    /**
+     * Getter for the {@link GameStopEvent#players} object
+     *
+     * @return the {@link Player}'s that were in the game when it stopped
+     */
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    /**
+     * Getter for the {@link GameStopEvent#winners} object
+     *
+     * @return the {@link Player}'s that won the game, empty if no winners have been set
+     */
+    public List<Player> getWinners() {
+        return winners;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return handlerList;
+    }
+
+    /**
+     * Getter for the {@link HandlerList} of this event, Bukkit requires this to be able to register listeners
+     *
+     * @return the {@link HandlerList} of the {@link GameStopEvent}
+     */
+    public static HandlerList getHandlerList() {
+        return handlerList;
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package com.daansander.gamecore.events.player;
 
 import com.daansander.gamecore.Game;
 import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
 
 /**
  * Event that is called when a player joins a game
@@ -11,6 +12,8 @@ import org.bukkit.entity.Player;
  */
 public class PlayerJoinGameEvent extends PlayerGameEvent {
 
+    private static final HandlerList handlerList = new HandlerList();
+
     /**
      * Constructor for a {@link PlayerJoinGameEvent} object
      *
@@ -21,4 +24,18 @@ public class PlayerJoinGameEvent extends PlayerGameEvent {
     public PlayerJoinGameEvent(Game game, Player player) {
         super(game, player);
     }
-}
\ No newline at end of file
+
+    @Override
+    public HandlerList getHandlers() {
+        return handlerList;
+    }
+
+    /**
+     * Getter for the {@link HandlerList} of this event, Bukkit requires this to be able to register listeners
+     *
+     * @return the {@link HandlerList} of the {@link PlayerJoinGameEvent}
+     */
+    public static HandlerList getHandlerList() {
+        return handlerList;
+    }
+}
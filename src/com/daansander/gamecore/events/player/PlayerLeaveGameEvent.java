@@ -2,6 +2,7 @@ package com.daansander.gamecore.events.player;
 
 import com.daansander.gamecore.Game;
 import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
 
 /**
  * Event that is called when a player leaves a game
@@ -10,6 +11,9 @@ import org.bukkit.entity.Player;
  * @since 1.0
  */
 public class PlayerLeaveGameEvent extends PlayerGameEvent {
+
+    private static final HandlerList handlerList = new HandlerList();
+
     /**
      * Constructor for a {@link PlayerLeaveGameEvent} object
      *
@@ -20,4 +24,18 @@ public class PlayerLeaveGameEvent extends PlayerGameEvent {
     public PlayerLeaveGameEvent(Game game, Player player) {
         super(game, player);
     }
-}
\ No newline at end of file
+
+    @Override
+    public HandlerList getHandlers() {
+        return handlerList;
+    }
+
+    /**
+     * Getter for the {@link HandlerList} of this event, Bukkit requires this to be able to register listeners
+     *
+     * @return the {@link HandlerList} of the {@link PlayerLeaveGameEvent}
+     */
+    public static HandlerList getHandlerList() {
+        return handlerList;
+    }
+}
@@ -0,0 +1,22 @@
+package com.daansander.gamecore.listeners;
+
+import com.daansander.gamecore.Game;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+
+/**
+ * A handler for Bukkit {@link Event}'s that only receives the events of {@link Player}'s in its own {@link Game}
+ *
+ * @since 1.1
+ * @see Game#listen(Class, GameEventHandler)
+ */
+public interface GameEventHandler<E extends Event> {
+
+    /**
+     * Called when a {@link Player} in the {@link Game} triggers the event
+     *
+     * @param event  the event that has been called
+     * @param player the {@link Player} in the {@link Game} that is involved with the event
+     */
+    void onEvent(E event, Player player);
+}
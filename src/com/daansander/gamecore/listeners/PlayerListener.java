@@ -3,6 +3,8 @@ package com.daansander.gamecore.listeners;
 import com.daansander.gamecore.Game;
 import com.daansander.gamecore.GameCore;
 import com.daansander.gamecore.GameSign;
+import com.daansander.gamecore.Leaderboard;
+import com.daansander.gamecore.Party;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
@@ -12,6 +14,8 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
 /**
  * @author Daan Meijer
@@ -50,6 +54,37 @@ public class PlayerListener implements Listener {
             GameSign.addSign(sign);
 
             player.sendMessage(ChatColor.GREEN + "Successfully created a new join sign for: " + gameLine + "!");
+        } else if (sign.getLine(0).equalsIgnoreCase("[top]")) {
+
+            Player player = event.getPlayer();
+
+            if (!Leaderboard.addSign(sign)) {
+                player.sendMessage(ChatColor.RED + "Invalid leaderboard sign, usage: [top], <game>, <stat>, <rank>");
+                return;
+            }
+
+            player.sendMessage(ChatColor.GREEN + "Successfully created a new leaderboard sign!");
         }
     }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        Game game = Game.getGameFromPlayer(player);
+
+        Party.leave(player);
+        if (game != null)
+            game.onDisconnect(player);
+    }
+
+    @EventHandler
+    public void onJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        Game game = Game.getReservedGame(player.getUniqueId());
+
+        if (game == null) return;
+
+        game.onRejoin(player);
+        player.sendMessage(ChatColor.GREEN + "You have been put back into the game " + game.TAG + "!");
+    }
 }
\ No newline at end of file
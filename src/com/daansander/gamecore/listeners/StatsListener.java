@@ -0,0 +1,82 @@
+package com.daansander.gamecore.listeners;
+
+import com.daansander.gamecore.Game;
+import com.daansander.gamecore.Leaderboard;
+import com.daansander.gamecore.events.game.GameStartEvent;
+import com.daansander.gamecore.events.game.GameStopEvent;
+import com.daansander.gamecore.events.player.PlayerJoinGameEvent;
+import com.daansander.gamecore.events.player.PlayerLeaveGameEvent;
+import com.daansander.gamecore.stats.StatsStore;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Records the results of every {@link Player} into the {@link StatsStore}
+ *
+ * @since 1.1
+ */
+public class StatsListener implements Listener {
+
+    private StatsStore statsStore;
+    private Map<UUID, Long> joinTimes = new HashMap<>();
+
+    public StatsListener(StatsStore statsStore) {
+        this.statsStore = statsStore;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+
+        if (statsStore.setName(player.getUniqueId(), player.getName()))
+            Leaderboard.updateName(player.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onGameStart(GameStartEvent event) {
+        long now = System.currentTimeMillis();
+        List<Player> players = event.getGame().getPlayers();
+
+        for (int i = 0; i < players.size(); i++)
+            joinTimes.put(players.get(i).getUniqueId(), now);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinGameEvent event) {
+        if (event.getGame().getGameState() != Game.GameState.INGAME) return;
+
+        joinTimes.put(event.getPlayer().getUniqueId(), System.currentTimeMillis());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLeave(PlayerLeaveGameEvent event) {
+        UUID player = event.getPlayer().getUniqueId();
+        Long joinTime = joinTimes.remove(player);
+
+        if (joinTime == null) return;
+        statsStore.record(event.getGame().TYPE, player, 0, 0, System.currentTimeMillis() - joinTime);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onGameStop(GameStopEvent event) {
+        long now = System.currentTimeMillis();
+        List<Player> players = event.getPlayers();
+        List<Player> winners = event.getWinners();
+
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            Long joinTime = joinTimes.remove(player.getUniqueId());
+
+            statsStore.record(event.getGame().TYPE, player.getUniqueId(), 1, winners.contains(player) ? 1 : 0,
+                    (joinTime == null) ? 0 : now - joinTime);
+        }
+    }
+}
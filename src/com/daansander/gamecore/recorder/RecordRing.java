@@ -0,0 +1,97 @@
+package com.daansander.gamecore.recorder;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free ring buffer of fixed-size records that sits in front of a {@link SessionLog}. Records are stored as
+ * four longs in a preallocated array so publishing one never allocates. Producers claim a slot with a CAS because the
+ * {@link com.daansander.gamecore.Game} timers run on the async scheduler threads, the log side is drained by a single
+ * writer thread. When the ring is full new records are dropped and counted instead of blocking the game
+ *
+ * @since 1.1
+ */
+final class RecordRing {
+
+    static final int RECORD_LONGS = 4;
+
+    private final int mask;
+    private final long[] data;
+    private final AtomicLongArray published;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long tail = 0;
+
+    /**
+     * Constructor for a {@link RecordRing} object
+     *
+     * @param capacity how many records fit in the ring, rounded up to a power of two
+     */
+    RecordRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+
+        this.mask = size - 1;
+        this.data = new long[size * RECORD_LONGS];
+        this.published = new AtomicLongArray(size);
+    }
+
+    /**
+     * Publishes a record, safe to call from any thread
+     *
+     * @return if the record fit in the ring
+     */
+    boolean offer(long time, long typeAndValue, long mostBits, long leastBits) {
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - tail > mask) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) (sequence & mask);
+        int offset = slot * RECORD_LONGS;
+
+        data[offset] = time;
+        data[offset + 1] = typeAndValue;
+        data[offset + 2] = mostBits;
+        data[offset + 3] = leastBits;
+        published.lazySet(slot, sequence + 1);
+        return true;
+    }
+
+    /**
+     * Hands all the published records to a {@link SessionLog}, must only be called by the writer thread
+     *
+     * @param log the {@link SessionLog} to write the records to
+     * @return how many records have been written
+     */
+    int drainTo(SessionLog log) throws IOException {
+        long sequence = tail;
+        int count = 0;
+
+        while (true) {
+            int slot = (int) (sequence & mask);
+            if (published.get(slot) != sequence + 1) break;
+
+            int offset = slot * RECORD_LONGS;
+            log.write(data[offset], data[offset + 1], data[offset + 2], data[offset + 3]);
+
+            sequence++;
+            count++;
+            tail = sequence;
+        }
+        return count;
+    }
+
+    /**
+     * Gets how many records were dropped because the ring was full
+     *
+     * @return the amount of dropped records
+     */
+    long getDropped() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,35 @@
+package com.daansander.gamecore.recorder;
+
+/**
+ * An enum that defines the kinds of records a {@link SessionRecorder} writes
+ *
+ * @since 1.1
+ *
+ * {@link RecordType#JOIN} a player joined, the value is the roster size after joining
+ * {@link RecordType#LEAVE} a player left, the value is the roster size after leaving
+ * {@link RecordType#STATE} the game changed state, the value is the ordinal of the new state
+ * {@link RecordType#TIMER} a lobby, countdown or game timer ticked, the value is the seconds left
+ * {@link RecordType#UPDATE_COST} onUpdate has been called, the value is how many nanoseconds it took
+ */
+public enum RecordType {
+    JOIN(1), LEAVE(2), STATE(3), TIMER(4), UPDATE_COST(5);
+
+    public final int ID;
+
+    RecordType(int id) {
+        this.ID = id;
+    }
+
+    /**
+     * Get a {@link RecordType} by it's id
+     *
+     * @param id the id that is stored in the log
+     * @return the {@link RecordType} with the corresponding id, null if there is none
+     */
+    public static RecordType fromId(int id) {
+        for (RecordType type : values())
+            if (type.ID == id)
+                return type;
+        return null;
+    }
+}
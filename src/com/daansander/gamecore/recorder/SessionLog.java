@@ -0,0 +1,118 @@
+package com.daansander.gamecore.recorder;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A segmented log of fixed-size records, every segment is a memory-mapped file with a header followed by the
+ * records. Unused space at the end of a segment is left zeroed, the {@link SessionReader} stops at the first record
+ * without a type
+ *
+ * Header: magic (int), version (int), record size (int), segment index (int), session start in epoch millis (long),
+ * reserved (long)
+ * Record: nanoseconds since the session start (long), type id and value (long, type in the high 32 bits), player
+ * uuid most significant bits (long), player uuid least significant bits (long)
+ *
+ * @since 1.1
+ */
+final class SessionLog implements Closeable {
+
+    static final int MAGIC = 0x4743524C;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = RecordRing.RECORD_LONGS * 8;
+    static final String EXTENSION = ".seg";
+
+    private final File folder;
+    private final String name;
+    private final int segmentRecords;
+    private final long startMillis;
+
+    private RandomAccessFile file;
+    private MappedByteBuffer buffer;
+    private int segment = -1;
+
+    /**
+     * Constructor for a {@link SessionLog} object, the first segment is created right away
+     *
+     * @param folder          the folder to write the segments to
+     * @param name            the name of the log, segments are named name-index.seg
+     * @param segment_records how many records fit in one segment
+     * @param start_millis    the epoch millis the session started at
+     */
+    SessionLog(File folder, String name, int segment_records, long start_millis) throws IOException {
+        this.folder = folder;
+        this.name = name;
+        this.segmentRecords = segment_records;
+        this.startMillis = start_millis;
+
+        folder.mkdirs();
+        roll();
+    }
+
+    void write(long time, long typeAndValue, long mostBits, long leastBits) throws IOException {
+        if (buffer.remaining() < RECORD_SIZE)
+            roll();
+
+        buffer.putLong(time);
+        buffer.putLong(typeAndValue);
+        buffer.putLong(mostBits);
+        buffer.putLong(leastBits);
+    }
+
+    /**
+     * Flushes the written records of the current segment to the disk
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Starts the next segment, the new segment is mapped before the current one is closed so a failed roll leaves the
+     * log as it was
+     */
+    private void roll() throws IOException {
+        int next = segment + 1;
+        RandomAccessFile nextFile = new RandomAccessFile(new File(folder, String.format("%s-%04d%s", name, next,
+                EXTENSION)), "rw");
+        MappedByteBuffer nextBuffer;
+
+        try {
+            nextBuffer = nextFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_SIZE + (long) segmentRecords * RECORD_SIZE);
+        } catch (IOException | RuntimeException e) {
+            nextFile.close();
+            throw e;
+        }
+
+        try {
+            close();
+        } finally {
+            file = nextFile;
+            buffer = nextBuffer;
+            segment = next;
+        }
+
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(RECORD_SIZE);
+        buffer.putInt(segment);
+        buffer.putLong(startMillis);
+        buffer.putLong(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer != null)
+            buffer.force();
+        if (file != null)
+            file.close();
+
+        buffer = null;
+        file = null;
+    }
+}
@@ -0,0 +1,211 @@
+package com.daansander.gamecore.recorder;
+
+import com.daansander.gamecore.Game;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.*;
+
+/**
+ * Reads the logs that are written by a {@link SessionRecorder} and rebuilds the timeline and summary of a session.
+ * Runs without a server:
+ *
+ * java -cp GameCore.jar com.daansander.gamecore.recorder.SessionReader [--timeline] &lt;folder or segment files&gt;
+ *
+ * @since 1.1
+ */
+public final class SessionReader {
+
+    private final String name;
+    private final List<File> segments = new ArrayList<>();
+
+    /**
+     * Constructor for a {@link SessionReader} object
+     *
+     * @param name the name of the log, the part of the segment file names before the segment index
+     */
+    public SessionReader(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Reads all the records of the log in order and hands them to a {@link Visitor}
+     *
+     * @param visitor the {@link Visitor} to hand the records to
+     * @return the session start in epoch millis
+     * @throws IOException if a segment couldn't be read or isn't a session log
+     */
+    public long read(Visitor visitor) throws IOException {
+        Collections.sort(segments);
+        long startMillis = 0;
+
+        for (int i = 0; i < segments.size(); i++) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(segments.get(i))))) {
+                if (in.readInt() != SessionLog.MAGIC)
+                    throw new IOException(segments.get(i) + " isn't a session log");
+                if (in.readInt() != SessionLog.VERSION || in.readInt() != SessionLog.RECORD_SIZE)
+                    throw new IOException(segments.get(i) + " has an unsupported version");
+
+                in.readInt();
+                startMillis = in.readLong();
+                in.readLong();
+
+                try {
+                    while (true) {
+                        long time = in.readLong();
+                        long typeAndValue = in.readLong();
+                        long mostBits = in.readLong();
+                        long leastBits = in.readLong();
+
+                        RecordType type = RecordType.fromId((int) (typeAndValue >>> 32));
+                        if (type == null) break;
+
+                        UUID player = (mostBits == 0 && leastBits == 0) ? null : new UUID(mostBits, leastBits);
+                        visitor.visit(time, type, (int) typeAndValue, player);
+                    }
+                } catch (EOFException e) {
+                    // a full segment
+                }
+            }
+        }
+        return startMillis;
+    }
+
+    /**
+     * Prints the summary of the log and optionally every record
+     *
+     * @param out      the {@link PrintStream} to print to
+     * @param timeline if every record should be printed
+     */
+    public void print(final PrintStream out, final boolean timeline) throws IOException {
+        final Summary summary = new Summary();
+
+        out.println("== " + name);
+        long startMillis = read(new Visitor() {
+            @Override
+            public void visit(long time, RecordType type, int value, UUID player) {
+                summary.visit(time, type, value, player);
+                if (timeline)
+                    out.println(String.format("%+10.3fs %-11s %-10s%s", time / 1e9, type, describe(type, value),
+                            (player == null) ? "" : " " + player));
+            }
+        });
+
+        out.println("started      " + new Date(startMillis));
+        out.println(String.format("duration     %.3fs", summary.lastTime / 1e9));
+        for (RecordType type : RecordType.values())
+            out.println(String.format("%-12s %d", type.name().toLowerCase(), summary.counts[type.ordinal()]));
+        out.println("players      " + summary.players.size());
+        out.println("peak roster  " + summary.peakRoster);
+        out.println("rounds       " + summary.rounds);
+
+        long[] costs = Arrays.copyOf(summary.costs, summary.costCount);
+        if (costs.length > 0) {
+            Arrays.sort(costs);
+            long total = 0;
+            for (long cost : costs)
+                total += cost;
+
+            out.println(String.format("onUpdate     avg %dus, p50 %dus, p99 %dus, max %dus", total / costs.length / 1000,
+                    costs[costs.length / 2] / 1000, costs[(int) (costs.length * 0.99)] / 1000,
+                    costs[costs.length - 1] / 1000));
+        }
+    }
+
+    private static String describe(RecordType type, int value) {
+        if (type == RecordType.STATE && value >= 0 && value < Game.GameState.values().length)
+            return Game.GameState.values()[value].name();
+        if (type == RecordType.UPDATE_COST)
+            return (value / 1000) + "us";
+        return String.valueOf(value);
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean timeline = false;
+        Map<String, SessionReader> readers = new TreeMap<>();
+
+        for (String arg : args) {
+            if (arg.equals("--timeline")) {
+                timeline = true;
+                continue;
+            }
+
+            File file = new File(arg);
+            File[] files = file.isDirectory() ? file.listFiles() : new File[]{file};
+            if (files == null) continue;
+
+            for (File segment : files) {
+                String fileName = segment.getName();
+                if (!fileName.endsWith(SessionLog.EXTENSION)) continue;
+
+                String name = fileName.substring(0, fileName.lastIndexOf('-'));
+                SessionReader reader = readers.get(name);
+                if (reader == null) {
+                    reader = new SessionReader(name);
+                    readers.put(name, reader);
+                }
+                reader.segments.add(segment);
+            }
+        }
+
+        if (readers.isEmpty()) {
+            System.err.println("Usage: SessionReader [--timeline] <folder or segment files>");
+            System.exit(1);
+        }
+
+        for (SessionReader reader : readers.values())
+            reader.print(System.out, timeline);
+    }
+
+    /**
+     * An interface that receives the records of a log in order
+     *
+     * @since 1.1
+     */
+    public interface Visitor {
+
+        /**
+         * Called for every record
+         *
+         * @param time   nanoseconds since the session started
+         * @param type   the {@link RecordType} of the record
+         * @param value  the value of the record
+         * @param player the player the record is about, null if it isn't about a player
+         */
+        void visit(long time, RecordType type, int value, UUID player);
+    }
+
+    private static final class Summary implements Visitor {
+
+        final long[] counts = new long[RecordType.values().length];
+        final Set<UUID> players = new HashSet<>();
+        long[] costs = new long[64];
+        int costCount = 0;
+        int peakRoster = 0;
+        int rounds = 0;
+        long lastTime = 0;
+
+        @Override
+        public void visit(long time, RecordType type, int value, UUID player) {
+            counts[type.ordinal()]++;
+            lastTime = time;
+            if (player != null)
+                players.add(player);
+
+            if (type == RecordType.JOIN)
+                peakRoster = Math.max(peakRoster, value);
+            else if (type == RecordType.STATE && value == Game.GameState.INGAME.ordinal())
+                rounds++;
+            else if (type == RecordType.UPDATE_COST) {
+                if (costCount == costs.length)
+                    costs = Arrays.copyOf(costs, costCount * 2);
+                costs[costCount++] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.daansander.gamecore.recorder;
+
+import com.daansander.gamecore.Game;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Records what happens in a {@link Game} to a compact binary log. Recording a record only publishes four longs into a
+ * {@link RecordRing}, one shared writer thread moves the records from all the rings into their {@link SessionLog}
+ *
+ * @since 1.1
+ * @see SessionReader
+ */
+public final class SessionRecorder {
+
+    private static final int RING_CAPACITY = 8192;
+    private static final int SEGMENT_RECORDS = 32768;
+    private static final long IDLE_PARK = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long FORCE_INTERVAL = TimeUnit.SECONDS.toNanos(5);
+
+    private static final List<SessionRecorder> recorders = new CopyOnWriteArrayList<>();
+    private static volatile boolean running = false;
+    private static Thread writer;
+
+    private final RecordRing ring = new RecordRing(RING_CAPACITY);
+    private final SessionLog log;
+    private final Logger logger;
+    private final long startNanos = System.nanoTime();
+    private volatile boolean closed = false;
+
+    /**
+     * Constructor for a {@link SessionRecorder} object, the recorder starts recording right away
+     *
+     * @param folder the folder to write the log segments to
+     * @param name   the name of the log, usually the tag of the {@link Game}
+     * @param logger the {@link Logger} to report write errors to
+     * @throws IOException if the first segment couldn't be created
+     */
+    public SessionRecorder(File folder, String name, Logger logger) throws IOException {
+        long startMillis = System.currentTimeMillis();
+
+        this.log = new SessionLog(folder, name + "-" + startMillis, SEGMENT_RECORDS, startMillis);
+        this.logger = logger;
+
+        recorders.add(this);
+        startWriter();
+    }
+
+    /**
+     * Records an event that doesn't involve a player
+     *
+     * @param type  the {@link RecordType} of the record
+     * @param value the value of the record
+     */
+    public void record(RecordType type, int value) {
+        record(type, value, 0, 0);
+    }
+
+    /**
+     * Records an event that involves a player
+     *
+     * @param type   the {@link RecordType} of the record
+     * @param value  the value of the record
+     * @param player the {@link UUID} of the player
+     */
+    public void record(RecordType type, int value, UUID player) {
+        record(type, value, player.getMostSignificantBits(), player.getLeastSignificantBits());
+    }
+
+    private void record(RecordType type, int value, long mostBits, long leastBits) {
+        if (closed) return;
+        ring.offer(System.nanoTime() - startNanos, ((long) type.ID << 32) | (value & 0xFFFFFFFFL), mostBits, leastBits);
+    }
+
+    /**
+     * Stops recording, the records that are still in the ring are written before the log is closed
+     */
+    public void close() {
+        closed = true;
+    }
+
+    /**
+     * Gets how many records were dropped because the writer couldn't keep up
+     *
+     * @return the amount of dropped records
+     */
+    public long getDropped() {
+        return ring.getDropped();
+    }
+
+    /**
+     * Stops the writer thread and closes all the recorders, called when GameCore gets disabled
+     */
+    public static void closeAll() {
+        Thread thread;
+        synchronized (SessionRecorder.class) {
+            running = false;
+            thread = writer;
+            writer = null;
+        }
+
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // the writer thread has stopped so this thread is the only writer now
+        for (int i = 0; i < recorders.size(); i++) {
+            SessionRecorder recorder = recorders.get(i);
+            recorder.closed = true;
+            recorder.drain();
+            recorder.closeLog();
+        }
+        recorders.clear();
+    }
+
+    private static synchronized void startWriter() {
+        if (writer != null) return;
+        running = true;
+
+        writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                long lastForce = System.nanoTime();
+
+                while (running) {
+                    int written = 0;
+
+                    for (int i = 0; i < recorders.size(); i++) {
+                        SessionRecorder recorder = recorders.get(i);
+                        boolean closing = recorder.closed;
+
+                        written += recorder.drain();
+                        if (closing) {
+                            recorder.drain();
+                            recorder.closeLog();
+                            recorders.remove(recorder);
+                        }
+                    }
+
+                    if (System.nanoTime() - lastForce > FORCE_INTERVAL) {
+                        for (int i = 0; i < recorders.size(); i++)
+                            recorders.get(i).force();
+                        lastForce = System.nanoTime();
+                    }
+
+                    if (written == 0)
+                        LockSupport.parkNanos(IDLE_PARK);
+                }
+            }
+        }, "GameCore-Recorder");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Moves the records from the ring into the log. Any failure closes this recorder so the shared writer thread
+     * keeps running for the other recorders
+     */
+    private int drain() {
+        try {
+            return ring.drainTo(log);
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.SEVERE, "Couldn't write the session log, recording stopped", e);
+            closed = true;
+            return 0;
+        }
+    }
+
+    private void force() {
+        try {
+            log.force();
+        } catch (RuntimeException e) {
+            logger.log(Level.SEVERE, "Couldn't flush the session log, recording stopped", e);
+            closed = true;
+        }
+    }
+
+    private void closeLog() {
+        try {
+            log.close();
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Couldn't close the session log", e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.daansander.gamecore.sidebar;
+
+import com.daansander.gamecore.Game;
+
+import java.util.Arrays;
+
+/**
+ * The content of a sidebar, a {@link Game} fills one frame that is shared by the whole roster and can override
+ * single lines per {@link org.bukkit.entity.Player}
+ *
+ * @since 1.1
+ */
+public final class SidebarFrame {
+
+    public static final int MAX_LINES = 15;
+
+    private String title;
+    private final String[] lines = new String[MAX_LINES];
+    private int size = 0;
+
+    /**
+     * Sets the title of the sidebar
+     *
+     * @param title the title to display above the lines
+     */
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    /**
+     * Sets a line of the sidebar, the lines are counted from the top
+     *
+     * @param line the 0 based index of the line
+     * @param text the text to display
+     */
+    public void setLine(int line, String text) {
+        if (line < 0 || line >= MAX_LINES)
+            throw new IllegalArgumentException("A sidebar only has " + MAX_LINES + " lines");
+
+        lines[line] = text;
+        if (line >= size)
+            size = line + 1;
+    }
+
+    /**
+     * Adds a line below the last line of the sidebar
+     *
+     * @param text the text to display
+     */
+    public void addLine(String text) {
+        setLine(size, text);
+    }
+
+    /**
+     * Getter for the {@link SidebarFrame#title} object
+     *
+     * @return the title of the sidebar, null if it hasn't been set
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Gets a line of the sidebar
+     *
+     * @param line the 0 based index of the line
+     * @return the text of the line, null if it hasn't been set
+     */
+    public String getLine(int line) {
+        return (line < size) ? lines[line] : null;
+    }
+
+    /**
+     * Gets how many lines the sidebar has
+     *
+     * @return the index of the last line that has been set plus one
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes the title and all the lines so the frame can be filled again
+     */
+    public void clear() {
+        title = null;
+        Arrays.fill(lines, 0, size, null);
+        size = 0;
+    }
+}
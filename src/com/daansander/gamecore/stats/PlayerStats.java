@@ -0,0 +1,129 @@
+package com.daansander.gamecore.stats;
+
+import org.bukkit.entity.Player;
+
+import java.util.UUID;
+
+/**
+ * Holds the results of a {@link Player} for a single game type
+ *
+ * @since 1.1
+ */
+public final class PlayerStats {
+
+    public final String TYPE;
+    public final UUID PLAYER;
+    private int gamesPlayed;
+    private int wins;
+    private long timeInGame;
+
+    /**
+     * Constructor for a {@link PlayerStats} object
+     *
+     * @param type        the game type (the tag without id) the stats belong to
+     * @param player      the {@link UUID} of the {@link Player} the stats belong to
+     * @param games_played how many games the {@link Player} has finished
+     * @param wins        how many games the {@link Player} has won
+     * @param time_in_game how many milliseconds the {@link Player} has spent in a running game
+     */
+    public PlayerStats(String type, UUID player, int games_played, int wins, long time_in_game) {
+        this.TYPE = type.toLowerCase();
+        this.PLAYER = player;
+        this.gamesPlayed = games_played;
+        this.wins = wins;
+        this.timeInGame = time_in_game;
+    }
+
+    /**
+     * Gets the key that is used to store the stats of a {@link Player} for a game type
+     *
+     * @param type   the game type
+     * @param player the {@link UUID} of the {@link Player}
+     * @return the storage key
+     */
+    public static String key(String type, UUID player) {
+        return type.toLowerCase() + ":" + player;
+    }
+
+    /**
+     * Gets the storage key of this {@link PlayerStats} object
+     *
+     * @return the storage key
+     * @see PlayerStats#key(String, UUID)
+     */
+    public String getKey() {
+        return key(TYPE, PLAYER);
+    }
+
+    /**
+     * Adds the values of another {@link PlayerStats} object to this one
+     *
+     * @param delta the values to add
+     */
+    void add(PlayerStats delta) {
+        gamesPlayed += delta.gamesPlayed;
+        wins += delta.wins;
+        timeInGame += delta.timeInGame;
+    }
+
+    /**
+     * Creates a copy of this {@link PlayerStats} object
+     *
+     * @return a new {@link PlayerStats} object with the same values
+     */
+    public PlayerStats copy() {
+        return new PlayerStats(TYPE, PLAYER, gamesPlayed, wins, timeInGame);
+    }
+
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public long getTimeInGame() {
+        return timeInGame;
+    }
+
+    /**
+     * An enum that defines the values of a {@link PlayerStats} object that can be ranked
+     *
+     * @since 1.1
+     */
+    public enum Stat {
+        GAMES_PLAYED, WINS, TIME_IN_GAME;
+
+        /**
+         * Gets the value of this {@link Stat} from a {@link PlayerStats} object
+         *
+         * @param stats the {@link PlayerStats} object to get the value from
+         * @return the value of the {@link Stat}
+         */
+        public long getValue(PlayerStats stats) {
+            switch (this) {
+                case GAMES_PLAYED:
+                    return stats.getGamesPlayed();
+                case WINS:
+                    return stats.getWins();
+                default:
+                    return stats.getTimeInGame();
+            }
+        }
+
+        /**
+         * Get a {@link Stat} by it's name, spaces and dashes are treated as underscores
+         *
+         * @param name the name of the {@link Stat}
+         * @return the {@link Stat} with the corresponding name, null if there is none
+         */
+        public static Stat fromName(String name) {
+            String normalized = name.trim().toUpperCase().replace(' ', '_').replace('-', '_');
+            for (Stat stat : values())
+                if (stat.name().equals(normalized))
+                    return stat;
+            return null;
+        }
+    }
+}
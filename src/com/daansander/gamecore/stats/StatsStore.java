@@ -0,0 +1,622 @@
+package com.daansander.gamecore.stats;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Stores the {@link PlayerStats} of every {@link Player}. Changes are collected in a write-behind buffer and written
+ * in batches to an append-only log on a background thread, an index file keeps track of the latest record of every
+ * {@link Player}. Reads are served from an LRU cache so they never touch the disk on the calling thread.
+ *
+ * The index is only rewritten every few minutes and on close, records appended after the last index write are
+ * recovered from the log on the next start. The log is compacted on start once most of it is made up of outdated
+ * records.
+ *
+ * The last known name of every {@link Player} is kept in memory and saved next to the index, so displaying stats
+ * never has to look a name up.
+ *
+ * @since 1.1
+ */
+public final class StatsStore {
+
+    private static final int FLUSH_INTERVAL = 20 * 5;
+    private static final int INDEX_INTERVAL = 60;
+    private static final int COMPACT_RATIO = 2;
+    private static final int LOAD_CHUNK = 256;
+    // everything in a record except the game type: its length prefix, the uuid and the three values
+    private static final int RECORD_OVERHEAD = 2 + 16 + 4 + 4 + 8;
+
+    private final Plugin plugin;
+    private final File logFile, indexFile, namesFile;
+    private final int cacheSize;
+    private final Object ioLock = new Object();
+    private final List<Observer> observers = new ArrayList<>();
+
+    private Map<String, PlayerStats> pending = new HashMap<>();
+    private Map<String, PlayerStats> flushing = new HashMap<>();
+    private List<String> loadQueue = new ArrayList<>();
+    private final Map<String, PlayerStats> cache;
+
+    // only touched while holding the ioLock
+    private final Map<String, Long> index = new HashMap<>();
+    private long indexedLength = 0;
+    private int unindexedFlushes = 0;
+
+    private final Map<UUID, String> names = new ConcurrentHashMap<>();
+    private volatile boolean namesChanged = false;
+
+    private BukkitTask flushTask;
+
+    /**
+     * Constructor for a {@link StatsStore} object
+     *
+     * @param plugin     the {@link Plugin} that owns the store
+     * @param folder     the folder where the log and index files are stored
+     * @param cache_size how many {@link PlayerStats} objects will be kept in memory
+     */
+    public StatsStore(Plugin plugin, File folder, final int cache_size) {
+        this.plugin = plugin;
+        this.logFile = new File(folder, "stats.log");
+        this.indexFile = new File(folder, "stats.idx");
+        this.namesFile = new File(folder, "stats.names");
+        this.cacheSize = cache_size;
+        this.cache = new LinkedHashMap<String, PlayerStats>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PlayerStats> eldest) {
+                return size() > cacheSize;
+            }
+        };
+
+        folder.mkdirs();
+    }
+
+    /**
+     * Loads the index and starts the background thread that flushes the write-behind buffer
+     */
+    public void start() {
+        synchronized (ioLock) {
+            try {
+                readIndex();
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Couldn't read the stats index, rebuilding it from the log", e);
+                index.clear();
+                indexedLength = 0;
+            }
+            try {
+                scanLog();
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Couldn't read the stats log", e);
+            }
+            try {
+                readNames();
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Couldn't read the player names", e);
+            }
+            try {
+                if (logFile.length() > COMPACT_RATIO * liveLength())
+                    compact();
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Couldn't compact the stats log", e);
+            }
+        }
+
+        flushTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, new Runnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        }, FLUSH_INTERVAL, FLUSH_INTERVAL);
+    }
+
+    /**
+     * Stops the background thread, writes everything that is still buffered and writes the index
+     */
+    public void close() {
+        if (flushTask != null)
+            flushTask.cancel();
+
+        synchronized (ioLock) {
+            flushBatch();
+
+            try {
+                if (unindexedFlushes > 0)
+                    writeIndex();
+                unindexedFlushes = 0;
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Couldn't write the stats index, it will be rebuilt from the log", e);
+            }
+            writeNames();
+        }
+    }
+
+    /**
+     * Adds results to the stats of a {@link Player}, the change will be written to the disk on the next flush
+     *
+     * @param type         the game type the results belong to
+     * @param player       the {@link UUID} of the {@link Player}
+     * @param games_played how many games to add
+     * @param wins         how many wins to add
+     * @param time_in_game how many milliseconds to add
+     */
+    public synchronized void record(String type, UUID player, int games_played, int wins, long time_in_game) {
+        PlayerStats delta = new PlayerStats(type, player, games_played, wins, time_in_game);
+        PlayerStats buffered = pending.get(delta.getKey());
+
+        if (buffered == null)
+            pending.put(delta.getKey(), delta);
+        else
+            buffered.add(delta);
+    }
+
+    /**
+     * Remembers the name of a {@link Player}, the names are saved together with the index
+     *
+     * @param player the {@link UUID} of the {@link Player}
+     * @param name   the current name of the {@link Player}
+     * @return if the name is different from the last known name
+     */
+    public boolean setName(UUID player, String name) {
+        if (name.equals(names.put(player, name))) return false;
+
+        namesChanged = true;
+        return true;
+    }
+
+    /**
+     * Gets the last known name of a {@link Player} without touching the disk
+     *
+     * @param player the {@link UUID} of the {@link Player}
+     * @return the last known name, null if the {@link Player} hasn't been seen since the names were first saved
+     */
+    public String getName(UUID player) {
+        return names.get(player);
+    }
+
+    /**
+     * Gets the stats of a {@link Player} without touching the disk. If the stats aren't cached yet they will be
+     * loaded in the background and the {@link Observer}'s will be notified when they're available
+     *
+     * @param type   the game type to get the stats for
+     * @param player the {@link UUID} of the {@link Player}
+     * @return a copy of the current stats including the buffered changes, null if they aren't loaded yet
+     */
+    public synchronized PlayerStats getStats(String type, UUID player) {
+        String key = PlayerStats.key(type, player);
+        PlayerStats cached = cache.get(key);
+
+        if (cached == null) {
+            if (!loadQueue.contains(key))
+                loadQueue.add(key);
+            return null;
+        }
+
+        PlayerStats result = cached.copy();
+        PlayerStats inFlight = flushing.get(key);
+        PlayerStats buffered = pending.get(key);
+
+        if (inFlight != null)
+            result.add(inFlight);
+        if (buffered != null)
+            result.add(buffered);
+        return result;
+    }
+
+    /**
+     * Loads the stats of every {@link Player} in the background. The {@link Observer}'s are handed the stored
+     * {@link PlayerStats} in chunks spread over ticks, after the last chunk {@link Observer#onLoadComplete()} is called
+     */
+    public void loadAll() {
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, new Runnable() {
+            @Override
+            public void run() {
+                List<PlayerStats> loaded = new ArrayList<>();
+
+                synchronized (ioLock) {
+                    if (!logFile.exists()) return;
+
+                    try (RandomAccessFile log = new RandomAccessFile(logFile, "r")) {
+                        for (Long offset : index.values())
+                            loaded.add(readRecord(log, offset));
+                    } catch (IOException e) {
+                        plugin.getLogger().log(Level.SEVERE, "Couldn't load the stats", e);
+                        return;
+                    }
+                }
+
+                synchronized (StatsStore.this) {
+                    for (int i = 0; i < loaded.size(); i++) {
+                        PlayerStats stats = loaded.get(i);
+                        if (cache.size() < cacheSize && !cache.containsKey(stats.getKey()))
+                            cache.put(stats.getKey(), stats);
+                    }
+                }
+                notifyLoaded(loaded);
+            }
+        });
+    }
+
+    /**
+     * Writes all the buffered changes to the log and loads the queued stats into the cache
+     */
+    public void flush() {
+        synchronized (ioLock) {
+            flushBatch();
+        }
+    }
+
+    private void flushBatch() {
+        Map<String, PlayerStats> batch;
+        List<String> loads;
+
+        synchronized (this) {
+            if (pending.isEmpty() && loadQueue.isEmpty()) return;
+            batch = pending;
+            loads = loadQueue;
+            flushing = batch;
+            pending = new HashMap<>();
+            loadQueue = new ArrayList<>();
+        }
+
+        List<PlayerStats> updated = new ArrayList<>();
+        Map<String, Long> offsets = new HashMap<>();
+
+        synchronized (ioLock) {
+            try (RandomAccessFile log = new RandomAccessFile(logFile, "rw")) {
+                for (int i = 0; i < loads.size(); i++) {
+                    String key = loads.get(i);
+                    if (batch.containsKey(key)) continue;
+
+                    Long offset = index.get(key);
+                    PlayerStats stats = (offset == null) ? emptyStats(key) : readRecord(log, offset);
+                    updated.add(stats);
+                }
+
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(bytes);
+                long end = log.length();
+
+                for (PlayerStats delta : batch.values()) {
+                    PlayerStats stats = getCached(delta.getKey());
+
+                    if (stats == null) {
+                        Long offset = index.get(delta.getKey());
+                        stats = (offset == null) ? emptyStats(delta.getKey()) : readRecord(log, offset);
+                    }
+                    stats.add(delta);
+
+                    offsets.put(stats.getKey(), end + out.size());
+                    writeRecord(out, stats);
+                    updated.add(stats);
+                }
+
+                try {
+                    log.seek(end);
+                    log.write(bytes.toByteArray());
+                } catch (IOException e) {
+                    // drop a partially written batch so the log only holds complete records
+                    log.setLength(end);
+                    throw e;
+                }
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Couldn't write the stats, they will be retried on the next flush", e);
+
+                synchronized (this) {
+                    for (PlayerStats delta : batch.values()) {
+                        PlayerStats buffered = pending.get(delta.getKey());
+                        if (buffered == null)
+                            pending.put(delta.getKey(), delta);
+                        else
+                            buffered.add(delta);
+                    }
+                    flushing = new HashMap<>();
+                }
+                return;
+            }
+
+            // the records are in the log now, anything the index file doesn't cover yet is recovered by scanLog
+            index.putAll(offsets);
+            indexedLength = logFile.length();
+
+            if (!offsets.isEmpty() && ++unindexedFlushes >= INDEX_INTERVAL) {
+                try {
+                    writeIndex();
+                    unindexedFlushes = 0;
+                } catch (IOException e) {
+                    plugin.getLogger().log(Level.WARNING, "Couldn't write the stats index, it will be rebuilt from the log", e);
+                }
+                writeNames();
+            }
+        }
+
+        synchronized (this) {
+            for (int i = 0; i < updated.size(); i++) {
+                PlayerStats stats = updated.get(i);
+                cache.put(stats.getKey(), stats.copy());
+            }
+            flushing = new HashMap<>();
+        }
+        notifyObservers(updated);
+    }
+
+    /**
+     * Adds an {@link Observer} that gets notified on the main thread whenever stats have been written or loaded
+     *
+     * @param observer the {@link Observer} to add
+     */
+    public synchronized void addObserver(Observer observer) {
+        observers.add(observer);
+    }
+
+    private synchronized PlayerStats getCached(String key) {
+        PlayerStats cached = cache.get(key);
+        return (cached == null) ? null : cached.copy();
+    }
+
+    private void notifyObservers(final List<PlayerStats> updated) {
+        if (updated.isEmpty() || !plugin.isEnabled()) return;
+
+        final List<Observer> targets;
+        synchronized (this) {
+            targets = new ArrayList<>(observers);
+        }
+
+        Bukkit.getScheduler().runTask(plugin, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < updated.size(); i++)
+                    for (int o = 0; o < targets.size(); o++)
+                        targets.get(o).onStatsUpdate(updated.get(i).copy());
+            }
+        });
+    }
+
+    private void notifyLoaded(final List<PlayerStats> loaded) {
+        if (!plugin.isEnabled()) return;
+
+        final List<Observer> targets;
+        synchronized (this) {
+            targets = new ArrayList<>(observers);
+        }
+
+        new BukkitRunnable() {
+            private int next = 0;
+
+            @Override
+            public void run() {
+                int end = Math.min(loaded.size(), next + LOAD_CHUNK);
+                List<PlayerStats> chunk = new ArrayList<>(end - next);
+
+                for (int i = next; i < end; i++)
+                    chunk.add(loaded.get(i).copy());
+                next = end;
+
+                for (int o = 0; o < targets.size(); o++) {
+                    if (!chunk.isEmpty())
+                        targets.get(o).onStatsLoad(chunk);
+                    if (next == loaded.size())
+                        targets.get(o).onLoadComplete();
+                }
+                if (next == loaded.size())
+                    cancel();
+            }
+        }.runTaskTimer(plugin, 0, 1);
+    }
+
+    private static PlayerStats emptyStats(String key) {
+        int split = key.lastIndexOf(':');
+        return new PlayerStats(key.substring(0, split), UUID.fromString(key.substring(split + 1)), 0, 0, 0);
+    }
+
+    private static PlayerStats readRecord(RandomAccessFile log, long offset) throws IOException {
+        log.seek(offset);
+        return readRecord(log);
+    }
+
+    private static PlayerStats readRecord(DataInput in) throws IOException {
+        String type = in.readUTF();
+        UUID player = new UUID(in.readLong(), in.readLong());
+        return new PlayerStats(type, player, in.readInt(), in.readInt(), in.readLong());
+    }
+
+    private static void writeRecord(DataOutputStream out, PlayerStats stats) throws IOException {
+        out.writeUTF(stats.TYPE);
+        out.writeLong(stats.PLAYER.getMostSignificantBits());
+        out.writeLong(stats.PLAYER.getLeastSignificantBits());
+        out.writeInt(stats.getGamesPlayed());
+        out.writeInt(stats.getWins());
+        out.writeLong(stats.getTimeInGame());
+    }
+
+    /**
+     * Reads the index file, the index stores the length of the log it covers so records that were appended after
+     * the last index write can be recovered by {@link StatsStore#scanLog()}
+     */
+    private void readIndex() throws IOException {
+        if (!indexFile.exists()) return;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            indexedLength = in.readLong();
+            int size = in.readInt();
+
+            for (int i = 0; i < size; i++)
+                index.put(in.readUTF(), in.readLong());
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        File temp = new File(indexFile.getPath() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeLong(indexedLength);
+            out.writeInt(index.size());
+
+            for (Map.Entry<String, Long> entry : index.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue());
+            }
+        }
+
+        if (!temp.renameTo(indexFile)) {
+            indexFile.delete();
+            if (!temp.renameTo(indexFile))
+                throw new IOException("Couldn't replace " + indexFile);
+        }
+    }
+
+    private void readNames() throws IOException {
+        if (!namesFile.exists()) return;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(namesFile)))) {
+            int size = in.readInt();
+
+            for (int i = 0; i < size; i++)
+                names.put(new UUID(in.readLong(), in.readLong()), in.readUTF());
+        }
+    }
+
+    /**
+     * Saves the names if they changed since they were last saved, a failed write is retried the next time
+     */
+    private void writeNames() {
+        if (!namesChanged) return;
+        namesChanged = false;
+
+        File temp = new File(namesFile.getPath() + ".tmp");
+        Map<UUID, String> snapshot = new HashMap<>(names);
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(snapshot.size());
+
+                for (Map.Entry<UUID, String> entry : snapshot.entrySet()) {
+                    out.writeLong(entry.getKey().getMostSignificantBits());
+                    out.writeLong(entry.getKey().getLeastSignificantBits());
+                    out.writeUTF(entry.getValue());
+                }
+            }
+            Files.move(temp.toPath(), namesFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            namesChanged = true;
+            plugin.getLogger().log(Level.WARNING, "Couldn't write the player names", e);
+        }
+    }
+
+    /**
+     * Indexes the records that have been appended to the log after the index was last written
+     */
+    private void scanLog() throws IOException {
+        if (!logFile.exists() || logFile.length() <= indexedLength) return;
+
+        try (RandomAccessFile log = new RandomAccessFile(logFile, "rw")) {
+            long offset = indexedLength;
+            log.seek(offset);
+
+            try {
+                while (offset < log.length()) {
+                    PlayerStats stats = readRecord(log);
+                    index.put(stats.getKey(), offset);
+                    offset = log.getFilePointer();
+                }
+            } catch (IOException e) {
+                // a torn record at the end of the log, drop it
+                log.setLength(offset);
+            }
+            indexedLength = offset;
+        }
+        writeIndex();
+    }
+
+    /**
+     * Gets how many bytes the latest records of all the indexed {@link PlayerStats} take up in the log
+     */
+    private long liveLength() {
+        long length = 0;
+        for (String key : index.keySet())
+            length += RECORD_OVERHEAD + key.lastIndexOf(':');
+        return length;
+    }
+
+    /**
+     * Rewrites the log with only the latest record of every {@link PlayerStats}. The index file is removed before
+     * the log is replaced, so a crash in between makes the next start rebuild the index from whichever log is there
+     */
+    private void compact() throws IOException {
+        File temp = new File(logFile.getPath() + ".tmp");
+        Map<String, Long> offsets = new HashMap<>();
+        long length;
+
+        try (RandomAccessFile log = new RandomAccessFile(logFile, "r");
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            for (Map.Entry<String, Long> entry : index.entrySet()) {
+                offsets.put(entry.getKey(), (long) out.size());
+                writeRecord(out, readRecord(log, entry.getValue()));
+            }
+            out.flush();
+            length = out.size();
+        } catch (IOException e) {
+            temp.delete();
+            throw e;
+        }
+
+        if (indexFile.exists() && !indexFile.delete())
+            throw new IOException("Couldn't remove " + indexFile);
+        Files.move(temp.toPath(), logFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        index.clear();
+        index.putAll(offsets);
+        indexedLength = length;
+        writeIndex();
+    }
+
+    /**
+     * An interface for classes that want to be notified when {@link PlayerStats} have changed
+     *
+     * @since 1.1
+     */
+    public interface Observer {
+
+        /**
+         * Called on the main thread when stats have been written or loaded on request
+         *
+         * @param stats a copy of the current stats
+         */
+        void onStatsUpdate(PlayerStats stats);
+
+        /**
+         * Called on the main thread with a chunk of the stats loaded by {@link StatsStore#loadAll()}
+         *
+         * @param stats copies of the stored stats
+         */
+        void onStatsLoad(List<PlayerStats> stats);
+
+        /**
+         * Called on the main thread after the last chunk of {@link StatsStore#loadAll()} has been handed out
+         */
+        void onLoadComplete();
+    }
+}
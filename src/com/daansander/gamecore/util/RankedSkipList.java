@@ -0,0 +1,185 @@
+package com.daansander.gamecore.util;
+
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * A sorted skip list where every link stores how many elements it skips, which makes looking up the rank of an
+ * element and the element at a rank O(log n) next to the normal insert and remove
+ *
+ * @since 1.1
+ */
+public final class RankedSkipList<T> {
+
+    private static final int MAX_LEVEL = 32;
+
+    private final Comparator<? super T> comparator;
+    private final Node<T> head = new Node<>(null, MAX_LEVEL);
+    private final Random random = new Random();
+    private int level = 1;
+    private int size = 0;
+
+    /**
+     * Constructor for a {@link RankedSkipList} object
+     *
+     * @param comparator the {@link Comparator} that defines the order of the elements, it has to be consistent with
+     *                   equals because elements are removed by comparing them
+     */
+    public RankedSkipList(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Adds an element to the list
+     *
+     * @param value the element to add
+     */
+    @SuppressWarnings("unchecked")
+    public void add(T value) {
+        Node<T>[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node<T> node = head;
+
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = (i == level - 1) ? 0 : rank[i + 1];
+            while (node.next[i] != null && comparator.compare(node.next[i].value, value) < 0) {
+                rank[i] += node.width[i];
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.width[i] = size;
+            }
+            level = nodeLevel;
+        }
+
+        Node<T> created = new Node<>(value, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            created.next[i] = update[i].next[i];
+            update[i].next[i] = created;
+
+            created.width[i] = update[i].width[i] - (rank[0] - rank[i]);
+            update[i].width[i] = rank[0] - rank[i] + 1;
+        }
+
+        for (int i = nodeLevel; i < level; i++)
+            update[i].width[i]++;
+
+        size++;
+    }
+
+    /**
+     * Removes an element from the list
+     *
+     * @param value the element to remove
+     * @return if the element was in the list
+     */
+    @SuppressWarnings("unchecked")
+    public boolean remove(T value) {
+        Node<T>[] update = new Node[MAX_LEVEL];
+        Node<T> node = head;
+
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && comparator.compare(node.next[i].value, value) < 0)
+                node = node.next[i];
+            update[i] = node;
+        }
+
+        Node<T> target = node.next[0];
+        if (target == null || comparator.compare(target.value, value) != 0) return false;
+
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].width[i] += target.width[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else
+                update[i].width[i]--;
+        }
+
+        while (level > 1 && head.next[level - 1] == null)
+            level--;
+
+        size--;
+        return true;
+    }
+
+    /**
+     * Gets the position of an element in the list
+     *
+     * @param value the element to get the position of
+     * @return the 0 based position of the element, -1 if it isn't in the list
+     */
+    public int rank(T value) {
+        Node<T> node = head;
+        int rank = 0;
+
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && comparator.compare(node.next[i].value, value) <= 0) {
+                rank += node.width[i];
+                node = node.next[i];
+            }
+            if (node != head && comparator.compare(node.value, value) == 0)
+                return rank - 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the element at a position in the list
+     *
+     * @param index the 0 based position of the element
+     * @return the element at the position, null if the position is out of bounds
+     */
+    public T get(int index) {
+        if (index < 0 || index >= size) return null;
+
+        Node<T> node = head;
+        int traversed = 0;
+
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && traversed + node.width[i] <= index + 1) {
+                traversed += node.width[i];
+                node = node.next[i];
+            }
+            if (traversed == index + 1)
+                return node.value;
+        }
+        return null;
+    }
+
+    /**
+     * Getter for the {@link RankedSkipList#size} object
+     *
+     * @return how many elements are in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    private int randomLevel() {
+        int nodeLevel = 1;
+        while (nodeLevel < MAX_LEVEL && random.nextInt(4) == 0)
+            nodeLevel++;
+        return nodeLevel;
+    }
+
+    private static final class Node<T> {
+
+        final T value;
+        final Node<T>[] next;
+        final int[] width;
+
+        @SuppressWarnings("unchecked")
+        Node(T value, int level) {
+            this.value = value;
+            this.next = new Node[level];
+            this.width = new int[level];
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.daansander.gamecore.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hashed timer wheel, timeouts are put in the bucket they expire in so every tick only has to look at a single
+ * bucket. One repeating task that calls {@link TimerWheel#run()} drives all the timeouts instead of one task per
+ * timeout
+ *
+ * @since 1.1
+ */
+public final class TimerWheel<T> implements Runnable {
+
+    private final List<Timeout<T>>[] buckets;
+    private final Expiry<T> expiry;
+    private int cursor = 0;
+
+    /**
+     * Constructor for a {@link TimerWheel} object
+     *
+     * @param size   how many buckets the wheel has, timeouts shorter than this take one round
+     * @param expiry the {@link Expiry} that is called when a timeout expires
+     */
+    @SuppressWarnings("unchecked")
+    public TimerWheel(int size, Expiry<T> expiry) {
+        this.buckets = new List[size];
+        this.expiry = expiry;
+
+        for (int i = 0; i < size; i++)
+            buckets[i] = new ArrayList<>();
+    }
+
+    /**
+     * Schedules a timeout
+     *
+     * @param value the value that is passed to the {@link Expiry} when the timeout expires
+     * @param ticks after how many ticks the timeout expires
+     * @return the {@link Timeout} object that can be used to cancel the timeout
+     */
+    public synchronized Timeout<T> schedule(T value, int ticks) {
+        ticks = Math.max(1, ticks);
+
+        Timeout<T> timeout = new Timeout<>(value, (ticks - 1) / buckets.length);
+        buckets[(cursor + ticks) % buckets.length].add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel by one tick and expires the timeouts that are due
+     */
+    @Override
+    public void run() {
+        List<T> expired = new ArrayList<>();
+
+        synchronized (this) {
+            cursor = (cursor + 1) % buckets.length;
+            List<Timeout<T>> bucket = buckets[cursor];
+            int kept = 0;
+
+            for (int i = 0; i < bucket.size(); i++) {
+                Timeout<T> timeout = bucket.get(i);
+                if (timeout.cancelled) continue;
+
+                if (timeout.rounds > 0) {
+                    timeout.rounds--;
+                    bucket.set(kept++, timeout);
+                } else {
+                    timeout.expired = true;
+                    expired.add(timeout.value);
+                }
+            }
+            bucket.subList(kept, bucket.size()).clear();
+        }
+
+        for (int i = 0; i < expired.size(); i++)
+            expiry.onExpire(expired.get(i));
+    }
+
+    /**
+     * A scheduled timeout of a {@link TimerWheel}
+     *
+     * @since 1.1
+     */
+    public static final class Timeout<T> {
+
+        private final T value;
+        private int rounds;
+        private volatile boolean cancelled = false;
+        private volatile boolean expired = false;
+
+        private Timeout(T value, int rounds) {
+            this.value = value;
+            this.rounds = rounds;
+        }
+
+        /**
+         * Cancels the timeout, it will be dropped the next time its bucket is visited
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * Checks whether the timeout is still pending
+         *
+         * @return if the timeout hasn't expired or been cancelled
+         */
+        public boolean isPending() {
+            return !cancelled && !expired;
+        }
+    }
+
+    /**
+     * An interface that is called when a {@link Timeout} expires
+     *
+     * @since 1.1
+     */
+    public interface Expiry<T> {
+
+        /**
+         * Called on the thread that drives the {@link TimerWheel} when a {@link Timeout} expires
+         *
+         * @param value the value the {@link Timeout} was scheduled with
+         */
+        void onExpire(T value);
+    }
+}